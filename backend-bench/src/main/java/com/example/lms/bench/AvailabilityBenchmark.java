@@ -0,0 +1,84 @@
+package com.example.lms.bench;
+
+import com.example.lms.entity.Book;
+import com.example.lms.service.OnLoanIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtering a synthetic catalog against the on-loan index, as getAvailableBooks does for each scanned chunk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailabilityBenchmark {
+
+    @Param({"200000"})
+    public int catalogSize;
+
+    @Param({"0.3"})
+    public double onLoanRatio;
+
+    private OnLoanIndex onLoanIndex;
+    private List<Book> chunk;
+    private List<Book> catalog;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Long> active = new ArrayList<>();
+        catalog = new ArrayList<>(catalogSize);
+        for (long id = 1; id <= catalogSize; id++) {
+            catalog.add(BenchFixtures.book(id));
+            if (random.nextDouble() < onLoanRatio) {
+                active.add(id);
+            }
+        }
+        onLoanIndex = new OnLoanIndex(BenchFixtures.loanRepositoryWithActiveBooks(active));
+        onLoanIndex.rebuild();
+        chunk = catalog.subList(catalogSize / 2, catalogSize / 2 + 500);
+    }
+
+    /**
+     * One 500-book scan chunk of the available-books listing.
+     */
+    @Benchmark
+    public List<Book> filterChunk() {
+        List<Book> available = new ArrayList<>(chunk.size());
+        for (Book book : chunk) {
+            if (!onLoanIndex.isOnLoan(book.getId())) {
+                available.add(book);
+            }
+        }
+        return available;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int filterWholeCatalog() {
+        int available = 0;
+        for (Book book : catalog) {
+            if (!onLoanIndex.isOnLoan(book.getId())) {
+                available++;
+            }
+        }
+        return available;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.lms.bench;
+
+import com.example.lms.dto.LoanView;
+import com.example.lms.entity.Book;
+import com.example.lms.entity.Loan;
+import com.example.lms.entity.Member;
+import com.example.lms.repository.LoanRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Synthetic members, books and loans shared by the benchmarks.
+ */
+final class BenchFixtures {
+
+    static final String JWT_SECRET = "Y2hhbmdlLXRoaXMtMjU2LWJpdC1zZWNyZXQta2V5ISE=";
+
+    private BenchFixtures() {
+    }
+
+    static Member member(long id) {
+        Member member = new Member();
+        member.setId(id);
+        member.setName("Member " + id);
+        member.setUsername("member" + id);
+        member.setEmail("member" + id + "@library.example");
+        member.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3ZsYkz0LhY8Kzr0Gq5Qe7nK");
+        member.setRole("MEMBER");
+        member.setRegistrationDate(new Date());
+        return member;
+    }
+
+    static Book book(long id) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("The Collected Works, Volume " + id);
+        book.setAuthor("Author " + (id % 997));
+        book.setIsbn(String.format("978%010d", id));
+        return book;
+    }
+
+    static List<Loan> loans(Member member, int count) {
+        List<Loan> loans = new ArrayList<>(count);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            Loan loan = new Loan();
+            loan.setId((long) i + 1);
+            loan.setBook(book(i + 1));
+            loan.setMember(member);
+            loan.setLoanDate(new Date(now - 20L * 86_400_000));
+            loan.setDueDate(new Date(now - 6L * 86_400_000));
+            loan.setReturnDate(i % 3 == 0 ? null : new Date(now));
+            loan.setFine(i % 3 == 0 ? 0 : 3.0);
+            loans.add(loan);
+        }
+        return loans;
+    }
+
+    // The LoanView rows /api/loans/my returns for the same loans
+    static List<LoanView> loanViews(List<Loan> loans) {
+        return loans.stream()
+                .map(loan -> new LoanView(loan.getId(), loan.getBook().getIsbn(), loan.getBook().getTitle(),
+                        loan.getLoanDate(), loan.getDueDate(), loan.getReturnDate(), loan.getFine(), loan.getExtensions()))
+                .toList();
+    }
+
+    /**
+     * LoanRepository stand-in that only answers findActiveBookIds, which is all OnLoanIndex needs.
+     */
+    static LoanRepository loanRepositoryWithActiveBooks(List<Long> activeBookIds) {
+        return (LoanRepository) Proxy.newProxyInstance(LoanRepository.class.getClassLoader(),
+                new Class<?>[] {LoanRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findActiveBookIds")) {
+                        return activeBookIds;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.lms.bench;
+
+import com.example.lms.entity.Member;
+import com.example.lms.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT issue and validation as done on login and on every authenticated request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private Member member;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(BenchFixtures.JWT_SECRET, Duration.ofMinutes(15));
+        member = BenchFixtures.member(42);
+        token = jwtService.generateToken(member);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(member);
+    }
+
+    /**
+     * Per-request path: verified-claims cache hit plus the validity check.
+     */
+    @Benchmark
+    public boolean validateCached() {
+        Claims claims = jwtService.extractAllClaims(token);
+        return jwtService.isTokenValid(claims, member);
+    }
+
+    /**
+     * Full signature verification with a prebuilt parser, i.e. the cost of a cache miss.
+     */
+    @Benchmark
+    public Claims verifySignature() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(BenchFixtures.JWT_SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    /**
+     * What every request cost before the key, parser and claims were cached: two key decodes, parser builds
+     * and signature checks (subject, then expiry).
+     */
+    @Benchmark
+    public boolean legacyRequest() {
+        String username = legacyParse(token).getSubject();
+        return username.equals(member.getUsername()) && legacyParse(token).getExpiration().getTime() > System.currentTimeMillis();
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(BenchFixtures.JWT_SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
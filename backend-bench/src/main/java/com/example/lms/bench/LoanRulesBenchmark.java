@@ -0,0 +1,85 @@
+package com.example.lms.bench;
+
+import com.example.lms.entity.Member;
+import com.example.lms.repository.MemberLoanSummary;
+import com.example.lms.service.LoanService;
+import com.example.lms.service.MemberEligibility;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Borrow eligibility and return fine arithmetic from LoanService, without the database.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoanRulesBenchmark {
+
+    private static final int BULK_RETURNS = 500;
+
+    private Member member;
+    private MemberLoanSummary summary;
+    private Date[] dueDates;
+    private Date returnedAt;
+
+    @Setup
+    public void setUp() {
+        member = BenchFixtures.member(7);
+        summary = new MemberLoanSummary() {
+            @Override
+            public long getActiveLoans() {
+                return 2;
+            }
+
+            @Override
+            public long getOverdueLoans() {
+                return 0;
+            }
+        };
+        returnedAt = new Date();
+        dueDates = new Date[BULK_RETURNS];
+        for (int i = 0; i < BULK_RETURNS; i++) {
+            // Spread from 20 days early to 60 days late to hit both the free and the capped branch
+            dueDates[i] = new Date(returnedAt.getTime() + (20L - i % 80) * 86_400_000);
+        }
+    }
+
+    @Benchmark
+    public int borrowEligibility() {
+        MemberEligibility eligibility = new MemberEligibility(member, summary, new Date());
+        eligibility.requireCanBorrow();
+        return eligibility.remainingLoanSlots();
+    }
+
+    @Benchmark
+    public double returnFine() {
+        return LoanService.computeFine(dueDates[BULK_RETURNS / 2], returnedAt);
+    }
+
+    /**
+     * One morning book-drop's worth of fines, as computed by the bulk return path.
+     */
+    @Benchmark
+    public void bulkReturnFines(Blackhole blackhole) {
+        double total = 0;
+        for (Date dueDate : dueDates) {
+            total += LoanService.computeFine(dueDate, returnedAt);
+        }
+        blackhole.consume(total);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.lms.bench;
+
+import com.example.lms.dto.LoanView;
+import com.example.lms.entity.Loan;
+import com.example.lms.entity.Member;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the loan list returned by /api/loans/my and the Member returned by /api/members.
+ * serializeLoans keeps the old entity-graph response as a baseline for the LoanView rows served now.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int loanCount;
+
+    // Configured the way Spring Boot configures the MVC ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private Member member;
+    private List<Loan> loans;
+    private List<LoanView> loanViews;
+
+    @Setup
+    public void setUp() {
+        member = BenchFixtures.member(1);
+        loans = BenchFixtures.loans(member, loanCount);
+        loanViews = BenchFixtures.loanViews(loans);
+    }
+
+    @Benchmark
+    public byte[] serializeLoans() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(loans);
+    }
+
+    @Benchmark
+    public byte[] serializeLoanViews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(loanViews);
+    }
+
+    @Benchmark
+    public byte[] serializeMember() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(member);
+    }
+}
@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+# Measures cold start of the backend variants: time until the first request succeeds and resident memory then.
+#
+#   mvn -Paot -DskipTests package                   # jvm, aot and cds variants
+#   mvn -Pnative -DskipTests native:compile         # native variant (GraalVM)
+#   scripts/startup-bench.sh [runs] [variants...]   # default: 5 runs of jvm aot cds native
+#
+# The application needs its database, so start MySQL (or point SPRING_DATASOURCE_URL elsewhere) first.
+# Variants whose artifact is missing are skipped. Medians over the runs are printed per variant.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+shift || true
+if [[ $# -gt 0 ]]; then
+    VARIANTS=("$@")
+else
+    VARIANTS=(jvm aot cds native)
+fi
+PORT=${PORT:-18080}
+URL="http://localhost:${PORT}/actuator/health"
+JAR=$(ls target/starter-backend-*-exec.jar 2>/dev/null | head -n 1 || true)
+NATIVE=target/starter-backend
+CDS_DIR=target/cds
+
+command_for() {
+    case "$1" in
+        jvm) [[ -n "$JAR" ]] && echo "java -jar $JAR" ;;
+        aot) [[ -n "$JAR" ]] && echo "java -Dspring.aot.enabled=true -jar $JAR" ;;
+        cds) [[ -f "$CDS_DIR/app.jsa" ]] && \
+                echo "java -XX:SharedArchiveFile=$CDS_DIR/app.jsa -Dspring.aot.enabled=true -jar $CDS_DIR/app/$(basename "$JAR")" ;;
+        native) [[ -x "$NATIVE" ]] && echo "$NATIVE" ;;
+    esac
+}
+
+# CDS: extract the jar into the layout CDS needs, then record the classes loaded up to context refresh
+train_cds() {
+    [[ -n "$JAR" ]] || return 0
+    rm -rf "$CDS_DIR" && mkdir -p "$CDS_DIR"
+    java -Djarmode=tools -jar "$JAR" extract --destination "$CDS_DIR/app" >/dev/null
+    java -XX:ArchiveClassesAtExit="$CDS_DIR/app.jsa" -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+        -jar "$CDS_DIR/app/$(basename "$JAR")" --server.port="$PORT" >/dev/null 2>&1 || true
+}
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Starts the command, polls the health endpoint, prints "<ms to first 2xx> <RSS kB>"
+measure() {
+    local start pid elapsed rss
+    start=$(now_ms)
+    $1 --server.port="$PORT" >/dev/null 2>&1 &
+    pid=$!
+    until curl -fsS -o /dev/null "$URL" 2>/dev/null; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "failed"
+            return
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+    kill "$pid" && wait "$pid" 2>/dev/null || true
+    echo "$elapsed $rss"
+}
+
+median() {
+    sort -n | awk '{a[NR]=$1} END {if (NR == 0) print "-"; else print a[int((NR + 1) / 2)]}'
+}
+
+[[ " ${VARIANTS[*]} " == *" cds "* ]] && train_cds
+
+printf "%-8s %6s %18s %14s\n" variant runs "first request ms" "RSS MB"
+for variant in "${VARIANTS[@]}"; do
+    cmd=$(command_for "$variant" || true)
+    if [[ -z "$cmd" ]]; then
+        printf "%-8s %6s %18s %14s\n" "$variant" - "not built" -
+        continue
+    fi
+    results=()
+    for ((i = 0; i < RUNS; i++)); do
+        results+=("$(measure "$cmd")")
+    done
+    times=$(printf "%s\n" "${results[@]}" | grep -v failed | awk '{print $1}' | median)
+    rss=$(printf "%s\n" "${results[@]}" | grep -v failed | awk '{print $2}' | median)
+    [[ "$rss" != "-" ]] && rss=$(( rss / 1024 ))
+    printf "%-8s %6s %18s %14s\n" "$variant" "$RUNS" "$times" "$rss"
+done
@@ -0,0 +1,30 @@
+package com.example.lms;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.stream.Stream;
+
+/**
+ * Reflection and resource hints for the native image that AOT processing cannot infer:
+ * jjwt creates its builder, parser and Jackson (de)serializers reflectively and through ServiceLoader,
+ * and the Flyway migrations live in vendor subdirectories of db/migration.
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        Stream.of("io.jsonwebtoken.impl.DefaultJwtBuilder",
+                        "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+                        "io.jsonwebtoken.impl.DefaultJwtParser",
+                        "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+                        "io.jsonwebtoken.jackson.io.JacksonSerializer",
+                        "io.jsonwebtoken.jackson.io.JacksonDeserializer")
+                .forEach(type -> hints.reflection().registerType(TypeReference.of(type),
+                        MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS));
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+        hints.resources().registerPattern("db/migration/*/*.sql");
+    }
+}
@@ -3,14 +3,20 @@ package com.example.lms;
 import io.github.cdimascio.dotenv.Dotenv;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ImportRuntimeHints(NativeHints.class)
 public class StarterBackendApplication {
 
     public static void main(String[] args) {
-        // Load the .env file
-        Dotenv dotenv = Dotenv.configure().load();
-        dotenv.entries().forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
+        // Load the .env file if there is one; containers pass real environment variables instead.
+        // Only the file's own entries are copied, not every OS environment variable.
+        Dotenv dotenv = Dotenv.configure().ignoreIfMissing().load();
+        dotenv.entries(Dotenv.Filter.DECLARED_IN_ENV_FILE)
+                .forEach(entry -> System.setProperty(entry.getKey(), entry.getValue()));
 
         SpringApplication.run(StarterBackendApplication.class, args);
     }
@@ -0,0 +1,74 @@
+package com.example.lms.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small bounded cache whose entries expire at a per-entry deadline.
+ * When full, expired entries are purged first and then arbitrary entries are evicted,
+ * so the cache never grows past its capacity. Safe for concurrent use.
+ */
+public class ExpiringCache<K, V> {
+
+    private final int capacity;
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public ExpiringCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return the cached value, or null if absent or expired
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Caches a value until the given epoch-millisecond deadline.
+     */
+    public void put(K key, V value, long expiresAt) {
+        if (entries.size() >= capacity && !entries.containsKey(key)) {
+            evict();
+        }
+        entries.put(key, new Entry<>(value, expiresAt));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt <= now);
+        if (entries.size() < capacity) {
+            return;
+        }
+        // Still full: drop a tenth of the entries rather than evicting one per put
+        Iterator<K> keys = entries.keySet().iterator();
+        for (int toRemove = entries.size() - capacity + Math.max(1, capacity / 10); toRemove > 0 && keys.hasNext(); toRemove--) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
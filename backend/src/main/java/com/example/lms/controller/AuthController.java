@@ -2,61 +2,103 @@ package com.example.lms.controller;
 
 import com.example.lms.dto.AuthenticationRequest;
 import com.example.lms.dto.AuthenticationResponse;
+import com.example.lms.dto.RefreshTokenRequest;
 import com.example.lms.dto.RegisterRequest;
 import com.example.lms.entity.Member;
 import com.example.lms.repository.MemberRepository;
-import com.example.lms.security.JwtService;
+import com.example.lms.security.InvalidRefreshTokenException;
+import com.example.lms.security.PasswordHashingRejectedException;
+import com.example.lms.security.PasswordHashingService;
+import com.example.lms.security.RefreshTokenService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+/**
+ * Login and registration. BCrypt work runs on the bounded PasswordHashingService pool and the endpoints
+ * return CompletableFutures, so request threads are released while a hash is computed.
+ * Both issue a short-lived access token plus a rotating refresh token; /refresh renews them without BCrypt.
+ */
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
     private final MemberRepository repository;
-    private final PasswordEncoder passwordEncoder;
-    private final JwtService jwtService;
+    private final PasswordHashingService passwordHashing;
+    private final RefreshTokenService refreshTokenService;
+    private final Executor taskExecutor;
 
-    public AuthController(AuthenticationManager authenticationManager, MemberRepository repository, PasswordEncoder passwordEncoder, JwtService jwtService) {
-        this.authenticationManager = authenticationManager;
+    public AuthController(MemberRepository repository, PasswordHashingService passwordHashing,
+                          RefreshTokenService refreshTokenService,
+                          @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
         this.repository = repository;
-        this.passwordEncoder = passwordEncoder;
-        this.jwtService = jwtService;
+        this.passwordHashing = passwordHashing;
+        this.refreshTokenService = refreshTokenService;
+        this.taskExecutor = taskExecutor;
     }
 
     @PostMapping("/register")
-    public ResponseEntity<AuthenticationResponse> register(@RequestBody RegisterRequest request) {
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> register(@RequestBody RegisterRequest request) {
         if (repository.findByUsername(request.getUsername()).isPresent()) {
-            return ResponseEntity.badRequest().body(new AuthenticationResponse()); // Or custom error
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(new AuthenticationResponse())); // Or custom error
         }
-        Member member = new Member();
-        member.setName(request.getName());
-        member.setUsername(request.getUsername());
-        member.setEmail(request.getEmail());
-        member.setPassword(passwordEncoder.encode(request.getPassword()));
-        member.setRole("MEMBER");
-        member.setRegistrationDate(new Date());
-        repository.save(member);
-        String jwtToken = jwtService.generateToken(member);
-        return ResponseEntity.ok(new AuthenticationResponse(jwtToken));
+        // Persist off the hashing pool so its threads only ever do BCrypt work
+        return passwordHashing.encode(request.getPassword()).thenApplyAsync(encodedPassword -> {
+            Member member = new Member();
+            member.setName(request.getName());
+            member.setUsername(request.getUsername());
+            member.setEmail(request.getEmail());
+            member.setPassword(encodedPassword);
+            member.setRole("MEMBER");
+            member.setRegistrationDate(new Date());
+            repository.save(member);
+            return ResponseEntity.ok(refreshTokenService.issue(member));
+        }, taskExecutor);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthenticationResponse> login(@RequestBody AuthenticationRequest request) {
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
-        Member member = repository.findByUsername(request.getUsername()).orElseThrow();
-        String jwtToken = jwtService.generateToken(member);
-        return ResponseEntity.ok(new AuthenticationResponse(jwtToken));
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> login(@RequestBody AuthenticationRequest request) {
+        Optional<Member> found = repository.findByUsername(request.getUsername());
+        if (found.isEmpty()) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        Member member = found.get();
+        return passwordHashing.matches(request.getPassword(), member.getPassword()).thenApplyAsync(matches -> {
+            if (!matches) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).<AuthenticationResponse>build();
+            }
+            return ResponseEntity.ok(refreshTokenService.issue(member));
+        }, taskExecutor);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a rotated refresh token, without BCrypt.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthenticationResponse> refresh(@RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(refreshTokenService.refresh(request.getRefreshToken()));
+    }
+
+    @ExceptionHandler(InvalidRefreshTokenException.class)
+    public ResponseEntity<String> invalidRefreshToken(InvalidRefreshTokenException e) {
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+    }
+
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ResponseEntity<String> hashingSaturated(PasswordHashingRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
     }
 }
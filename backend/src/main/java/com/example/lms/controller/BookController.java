@@ -2,15 +2,27 @@
 
 package com.example.lms.controller;
 
-import com.example.lms.entity.Book;
+import com.example.lms.dto.AvailabilityEvent;
+import com.example.lms.dto.BookPage;
+import com.example.lms.dto.BookSearchPage;
+import com.example.lms.dto.OnLoanIndexReport;
+import com.example.lms.service.AvailabilityFeed;
+import com.example.lms.service.BookSearchIndex;
+import com.example.lms.service.InvalidPageRequestException;
 import com.example.lms.service.LoanService;
+import com.example.lms.service.VersionStamps;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/books")
@@ -18,13 +30,59 @@ import java.util.List;
 public class BookController {
 
     private final LoanService loanService; // Reuse for available
+    private final BookSearchIndex bookSearchIndex;
+    private final VersionStamps versionStamps;
+    private final AvailabilityFeed availabilityFeed;
 
-    public BookController(LoanService loanService) {
+    public BookController(LoanService loanService, BookSearchIndex bookSearchIndex, VersionStamps versionStamps,
+                          AvailabilityFeed availabilityFeed) {
         this.loanService = loanService;
+        this.bookSearchIndex = bookSearchIndex;
+        this.versionStamps = versionStamps;
+        this.availabilityFeed = availabilityFeed;
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<Book>> getAvailableBooks() {
-        return ResponseEntity.ok(loanService.getAvailableBooks());
+    public ResponseEntity<BookPage> getAvailableBooks(@RequestParam(defaultValue = "50") int limit,
+                                                      @RequestParam(required = false) String after,
+                                                      @RequestParam(defaultValue = "id") String sort,
+                                                      WebRequest request) {
+        // Tag taken before the query; a matching If-None-Match is answered 304 without the database or serializer
+        String etag = versionStamps.catalogETag();
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(etag)
+                .body(loanService.getAvailableBooks(limit, after, sort));
+    }
+
+    // "availability" events ({bookId, available}) as books are borrowed and returned, instead of polling /available.
+    // Open to anonymous clients: EventSource cannot send the Authorization header, and the events only carry
+    // book ids and availability, which the catalog shows anyway
+    @GetMapping(value = "/availability/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("permitAll()")
+    @RegisterReflectionForBinding(AvailabilityEvent.class) // serialized by the emitter, invisible to AOT inference
+    public SseEmitter streamAvailability() {
+        return availabilityFeed.subscribe();
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<BookSearchPage> search(@RequestParam String q,
+                                                 @RequestParam(defaultValue = "false") boolean autocomplete,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        int pageSize = Math.max(1, Math.min(size, 100));
+        return ResponseEntity.ok(bookSearchIndex.search(q, autocomplete, Math.max(0, page), pageSize));
+    }
+
+    @GetMapping("/available/consistency")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OnLoanIndexReport> checkAvailabilityIndex() {
+        return ResponseEntity.ok(loanService.verifyOnLoanIndex());
+    }
+
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<String> invalidPageRequest(InvalidPageRequestException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
     }
-}1
+}
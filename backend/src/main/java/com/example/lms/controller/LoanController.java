@@ -1,12 +1,26 @@
 
 package com.example.lms.controller;
 
-import com.example.lms.entity.Book;
-import com.example.lms.entity.Loan;
+import com.example.lms.dto.BatchBorrowRequest;
+import com.example.lms.dto.BatchBorrowResult;
+import com.example.lms.dto.BulkReturnRequest;
+import com.example.lms.dto.BulkReturnResult;
+import com.example.lms.dto.FineSummary;
+import com.example.lms.dto.LoanHistoryPage;
+import com.example.lms.dto.LoanView;
+import com.example.lms.service.FineAccrualJob;
+import com.example.lms.service.FineLedgerService;
+import com.example.lms.service.InvalidPageRequestException;
+import com.example.lms.service.LoanArchiver;
 import com.example.lms.service.LoanService;
+import com.example.lms.service.MemberService;
+import com.example.lms.service.VersionStamps;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -16,14 +30,38 @@ import java.util.List;
 public class LoanController {
 
     private final LoanService loanService;
+    private final MemberService memberService;
+    private final FineLedgerService fineLedgerService;
+    private final FineAccrualJob fineAccrualJob;
+    private final LoanArchiver loanArchiver;
+    private final VersionStamps versionStamps;
 
-    public LoanController(LoanService loanService) {
+    public LoanController(LoanService loanService, MemberService memberService, FineLedgerService fineLedgerService,
+                          FineAccrualJob fineAccrualJob, LoanArchiver loanArchiver, VersionStamps versionStamps) {
         this.loanService = loanService;
+        this.memberService = memberService;
+        this.fineLedgerService = fineLedgerService;
+        this.fineAccrualJob = fineAccrualJob;
+        this.loanArchiver = loanArchiver;
+        this.versionStamps = versionStamps;
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<Loan>> getMyLoans() {
-        return ResponseEntity.ok(loanService.getMyLoans());
+    public ResponseEntity<List<LoanView>> getMyLoans(WebRequest request) {
+        // The member id comes from the token, so a 304 costs no query at all
+        String etag = versionStamps.loansETag(memberService.getCurrentMemberId());
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(etag)
+                .body(loanService.getMyLoans());
+    }
+
+    // Archived loans, newest first; pass nextCursor as "before" for the next page
+    @GetMapping("/my/history")
+    public ResponseEntity<LoanHistoryPage> getMyLoanHistory(@RequestParam(required = false) String before,
+                                                            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(loanService.getLoanHistory(before, limit));
     }
 
     @PostMapping("/borrow")
@@ -32,18 +70,50 @@ public class LoanController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/borrow/batch")
+    public ResponseEntity<List<BatchBorrowResult>> borrowBatch(@RequestBody BatchBorrowRequest request) {
+        return ResponseEntity.ok(loanService.borrowBooks(request.getIsbns()));
+    }
+
     @PostMapping("/renew/{loanId}")
     public ResponseEntity<Void> renew(@PathVariable Long loanId) {
         loanService.renewLoan(loanId);
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/return/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkReturnResult> returnBatch(@RequestBody BulkReturnRequest request) {
+        return ResponseEntity.ok(loanService.returnLoans(request.getLoanIds(), request.getIsbns()));
+    }
+
     @PostMapping("/return/{loanId}")
     public ResponseEntity<Void> returnBook(@PathVariable Long loanId) {
         loanService.returnLoan(loanId);
         return ResponseEntity.ok().build();
     }
-}
 
+    // Balance as of the last accrual run, not recomputed from open loans
+    @GetMapping("/fines")
+    public ResponseEntity<FineSummary> getMyFines() {
+        return ResponseEntity.ok(fineLedgerService.getSummary(memberService.getCurrentMember().getId()));
+    }
+
+    @PostMapping("/archive")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Long> runArchiver() {
+        long moved = loanArchiver.archive();
+        return moved < 0 ? ResponseEntity.status(HttpStatus.CONFLICT).build() : ResponseEntity.ok(moved);
+    }
 
+    @PostMapping("/fines/accrue")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> runFineAccrual() {
+        return fineAccrualJob.run() ? ResponseEntity.ok().build() : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
 
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<String> invalidPageRequest(InvalidPageRequestException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -1,10 +1,15 @@
 package com.example.lms.controller;
 
+import com.example.lms.dto.MemberPage;
 import com.example.lms.entity.Member;
 import com.example.lms.service.MemberService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -29,6 +34,40 @@ public class MemberController {
         return memberService.getAllMembers();
     }
 
+    /**
+     * GET endpoint to retrieve members one page at a time, in ID order.
+     * @param after ID of the last member of the previous page (nextCursor), omitted for the first page
+     * @param limit Page size (capped at 500)
+     * @return The page of members and the cursor for the next one
+     */
+    @GetMapping("/page")
+    public MemberPage getMembersPage(@RequestParam(required = false) Long after,
+                                     @RequestParam(defaultValue = "100") int limit) {
+        return memberService.getMembersPage(after, limit);
+    }
+
+    /**
+     * GET endpoint to export all members as a streamed NDJSON or CSV download.
+     * @param format "ndjson" (default) or "csv"
+     * @return A response body written row by row from a database cursor, or 400 for any other format
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportMembers(@RequestParam(defaultValue = "ndjson") String format) {
+        // Checked here because once the body streams the 200 is already committed
+        if (!"csv".equalsIgnoreCase(format) && !"ndjson".equalsIgnoreCase(format)) {
+            return ResponseEntity.badRequest().build();
+        }
+        MediaType mediaType = "csv".equalsIgnoreCase(format)
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.parseMediaType("application/x-ndjson");
+        StreamingResponseBody body = out -> memberService.exportMembers(format, out);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=members." + ("csv".equalsIgnoreCase(format) ? "csv" : "ndjson"))
+                .body(body);
+    }
+
     /**
      * GET endpoint to retrieve a member by their ID.
      * @param id The ID of the member to retrieve
@@ -74,12 +113,16 @@ public class MemberController {
     }
 
     /**
-     * GET endpoint to search members by name.
-     * @param name The name to search for (partial match)
-     * @return List of members matching the name
+     * GET endpoint to search members by name, username or email.
+     * @param name The text to search for (partial match)
+     * @param page Zero-based page number
+     * @param size Page size (capped at 100)
+     * @return List of members matching the text
      */
     @GetMapping("/search")
-    public List<Member> searchMembersByName(@RequestParam String name) {
-        return memberService.searchMembersByName(name);
+    public List<Member> searchMembersByName(@RequestParam String name,
+                                            @RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "20") int size) {
+        return memberService.searchMembersByName(name, page, size);
     }
 }
\ No newline at end of file
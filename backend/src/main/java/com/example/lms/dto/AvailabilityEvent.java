@@ -0,0 +1,14 @@
+package com.example.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Published inside the loan transaction and pushed to /api/books/availability/stream once it commits
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityEvent {
+    private Long bookId;
+    private boolean available;
+}
@@ -0,0 +1,10 @@
+package com.example.lms.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchBorrowRequest {
+    private List<String> isbns;
+}
@@ -0,0 +1,14 @@
+package com.example.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBorrowResult {
+    private String isbn;
+    private boolean success;
+    private String message; // failure reason, null on success
+}
@@ -0,0 +1,16 @@
+package com.example.lms.dto;
+
+import com.example.lms.entity.Book;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookPage {
+    private List<Book> books;
+    private String nextCursor; // null when there are no more pages
+}
@@ -0,0 +1,16 @@
+package com.example.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSearchHit {
+    private long id;
+    private String title;
+    private String author;
+    private String isbn;
+    private double score;
+}
@@ -0,0 +1,17 @@
+package com.example.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSearchPage {
+    private List<BookSearchHit> hits;
+    private int total;
+    private int page;
+    private int size;
+}
@@ -0,0 +1,12 @@
+package com.example.lms.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkReturnRequest {
+    private List<Long> loanIds = new ArrayList<>();
+    private List<String> isbns = new ArrayList<>();
+}
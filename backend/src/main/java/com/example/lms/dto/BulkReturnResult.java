@@ -0,0 +1,20 @@
+package com.example.lms.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReturnResult {
+    private int returned;
+    private double totalFines;
+    @JsonIgnore
+    private List<Long> returnedBookIds;
+    private List<Long> unmatchedLoanIds;
+    private List<String> unmatchedIsbns;
+}
@@ -0,0 +1,17 @@
+package com.example.lms.dto;
+
+import com.example.lms.entity.FineLedgerEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FineSummary {
+    private double balance;
+    private long overdueLoans;
+    private List<FineLedgerEntry> recentEntries; // newest first
+}
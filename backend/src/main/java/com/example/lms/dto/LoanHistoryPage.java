@@ -0,0 +1,15 @@
+package com.example.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanHistoryPage {
+    private List<LoanView> loans; // newest return first
+    private String nextCursor; // null when there are no more pages
+}
@@ -0,0 +1,22 @@
+package com.example.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+// Read model for a member's loan list, selected column by column so no Book or Member entity is loaded
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanView {
+    private Long id;
+    private String isbn;
+    private String title;
+    private Date loanDate;
+    private Date dueDate;
+    private Date returnDate; // null while on loan
+    private double fine;
+    private int extensions;
+}
@@ -0,0 +1,16 @@
+package com.example.lms.dto;
+
+import com.example.lms.entity.Member;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MemberPage {
+    private List<Member> members;
+    private Long nextCursor; // null when there are no more pages
+}
@@ -0,0 +1,19 @@
+package com.example.lms.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class OnLoanIndexReport {
+    private int indexedCount;
+    private int databaseCount;
+    private List<Long> missingFromIndex;
+    private List<Long> staleInIndex;
+
+    public boolean isConsistent() {
+        return missingFromIndex.isEmpty() && staleInIndex.isEmpty();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.lms.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.Date;
+
+/**
+ * A returned loan moved out of the hot loan table by LoanArchiver. Same columns as Loan plus the time it was archived;
+ * the id is the original loan id.
+ */
+@Entity
+@Data
+@Table(name = "loan_archive", indexes = {
+        @Index(name = "idx_loan_archive_member", columnList = "member_id, return_date, id")
+})
+public class ArchivedLoan {
+    @Id
+    private Long id;
+
+    // Lazy associations stay out of toString/equals/hashCode, as on Loan
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Book book;
+
+    // The owner is implied by the endpoint that returns the history
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Member member;
+
+    private Date loanDate;
+    private Date dueDate;
+    private Date returnDate;
+    private double fine;
+    private int extensions;
+    private Date archivedAt;
+}
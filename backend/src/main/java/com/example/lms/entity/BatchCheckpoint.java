@@ -0,0 +1,33 @@
+package com.example.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Progress of a chunked batch job, committed with each chunk so an interrupted run resumes where it stopped.
+ * The version also keeps two nodes from running the same job at once: the slower one fails its chunk.
+ */
+@Entity
+@Data
+@Table(name = "batch_checkpoint")
+public class BatchCheckpoint {
+    @Id
+    @Column(length = 64)
+    private String jobName;
+
+    // The "now" of the run; kept across restarts so a resumed run sees the same cut-off
+    private Date runStartedAt;
+    // Start of the window the run covers (the previous run's start), null on the first run
+    private Date windowStart;
+    // Keyset cursor: sort date and id of the last row processed
+    private Date cursorDate;
+    private Long cursorId;
+    private boolean completed;
+    private Date updatedAt;
+
+    // Null until first saved, which tells Spring Data to persist rather than merge the assigned id
+    @Version
+    private Long version;
+}
@@ -1,11 +1,14 @@
 package com.example.lms.entity;
 
+import com.example.lms.service.BookSearchIndexListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 
 @Entity
 @Data
 @Table(name = "book")
+@EntityListeners(BookSearchIndexListener.class)
 public class Book {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -15,4 +18,10 @@ public class Book {
     private String author;
     @Column(unique = true)
     private String isbn;
+
+    // Bumped by every borrow so two concurrent borrows of the same book cannot both commit
+    @Version
+    @JsonIgnore
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long version;
 }
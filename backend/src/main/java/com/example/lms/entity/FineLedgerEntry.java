@@ -0,0 +1,38 @@
+package com.example.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * One movement of a member's fine balance: an ACCRUAL while a loan is overdue, or a SETTLEMENT that
+ * corrects the accrued amount to the fine charged at return. The balance is the sum of a member's entries.
+ */
+@Entity
+@Data
+@Table(name = "fine_ledger", indexes = {
+        @Index(name = "idx_fine_ledger_member", columnList = "member_id, id")
+})
+public class FineLedgerEntry {
+    public static final String ACCRUAL = "ACCRUAL";
+    public static final String SETTLEMENT = "SETTLEMENT";
+
+    // Pooled sequence ids so a chunk's entries are inserted as one JDBC batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "fine_ledger_seq")
+    @SequenceGenerator(name = "fine_ledger_seq", sequenceName = "fine_ledger_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    @Column(name = "loan_id", nullable = false)
+    private Long loanId;
+
+    @Column(nullable = false, length = 16)
+    private String type;
+
+    private double amount;
+    private Date createdAt;
+}
@@ -3,23 +3,37 @@ package com.example.lms.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.Date;
 
 @Entity
 @Data
-@Table(name = "loan")
+@Table(name = "loan", indexes = {
+        @Index(name = "idx_loan_member_open", columnList = "member_id, return_date, due_date"),
+        @Index(name = "idx_loan_open_due", columnList = "return_date, due_date")
+})
 public class Loan {
+    // Pooled sequence ids (a loan_seq table on MySQL) let Hibernate batch inserts, which IDENTITY prevents.
+    // The V2 migration seeds loan_seq above the ids of loans created before the switch.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_seq")
+    @SequenceGenerator(name = "loan_seq", sequenceName = "loan_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    // LAZY so loading a loan never drags in its book and member; reads that need them use a fetch join or LoanView.
+    // Left out of toString/equals/hashCode, which would otherwise initialise the proxies (or fail once detached)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Book book;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Member member;
 
     private Date loanDate;
@@ -0,0 +1,32 @@
+package com.example.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Fine accrued so far on one loan by the overdue accrual job. Settled once the loan's final fine is in the ledger.
+ * Plain ids rather than associations: the job works on ids only and never loads loans or members.
+ */
+@Entity
+@Data
+@Table(name = "loan_fine_accrual", indexes = {
+        @Index(name = "idx_fine_accrual_member_open", columnList = "member_id, settled")
+})
+public class LoanFineAccrual {
+    @Id
+    @Column(name = "loan_id")
+    private Long loanId;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    private double accrued;
+    private boolean settled;
+    private Date updatedAt;
+
+    // Null until first saved, which tells Spring Data to persist rather than merge the assigned id
+    @Version
+    private Long version;
+}
@@ -1,5 +1,6 @@
 package com.example.lms.entity;
 
+import com.example.lms.service.MemberSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.springframework.security.core.GrantedAuthority;
@@ -13,6 +14,7 @@ import java.util.List;
 @Entity
 @Data
 @Table(name = "member")
+@EntityListeners(MemberSearchIndexListener.class)
 public class Member implements UserDetails {
 
     @Id
@@ -20,6 +22,7 @@ public class Member implements UserDetails {
     private Long id;
 
     private String name;
+    @Column(unique = true)
     private String username;
     private String email;
     private String password;
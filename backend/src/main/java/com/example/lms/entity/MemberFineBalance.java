@@ -0,0 +1,29 @@
+package com.example.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+/**
+ * Running total of a member's fine ledger, kept by the accrual job so "how much is owed" is a primary-key read.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "member_fine_balance")
+public class MemberFineBalance {
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+
+    private double balance;
+    private Date updatedAt;
+
+    public MemberFineBalance(Long memberId, double balance, Date updatedAt) {
+        this.memberId = memberId;
+        this.balance = balance;
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.lms.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.Date;
+
+@Entity
+@Data
+@Table(name = "refresh_token")
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Lazy, so kept out of the Lombok toString/equals/hashCode
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Member member;
+
+    // HMAC-SHA256 of the token handed to the client; the raw token is never stored
+    @Column(unique = true, nullable = false, length = 64)
+    private String tokenHash;
+
+    private Date createdAt;
+    private Date expiresAt;
+    private boolean revoked;
+}
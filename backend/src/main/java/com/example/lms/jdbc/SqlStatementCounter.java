@@ -0,0 +1,48 @@
+package com.example.lms.jdbc;
+
+/**
+ * Thread-bound counting scopes for the statements seen by the proxied DataSource.
+ * Scopes nest: a test can wrap a MockMvc call while SqlStatsFilter opens its own scope per request,
+ * and both see the same statements. Nothing is counted on threads without an open scope.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Opens a counting scope on the current thread; close it with {@link #end(SqlStats)}.
+     */
+    public static SqlStats begin() {
+        SqlStats stats = new SqlStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    /**
+     * Closes the scope opened by {@link #begin()} and restores the enclosing one, if any.
+     */
+    public static void end(SqlStats stats) {
+        if (stats.getParent() == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats.getParent());
+        }
+    }
+
+    static void statementExecuted() {
+        SqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statementExecuted();
+        }
+    }
+
+    static void rowRead() {
+        SqlStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.rowRead();
+        }
+    }
+}
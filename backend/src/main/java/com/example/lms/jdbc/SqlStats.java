@@ -0,0 +1,45 @@
+package com.example.lms.jdbc;
+
+/**
+ * SQL statements executed and result-set rows read while a SqlStatementCounter scope was open.
+ * A JDBC batch counts as one statement, as it is one round trip.
+ */
+public class SqlStats {
+
+    private final SqlStats parent;
+    private long statements;
+    private long rows;
+
+    SqlStats(SqlStats parent) {
+        this.parent = parent;
+    }
+
+    SqlStats getParent() {
+        return parent;
+    }
+
+    void statementExecuted() {
+        for (SqlStats stats = this; stats != null; stats = stats.parent) {
+            stats.statements++;
+        }
+    }
+
+    void rowRead() {
+        for (SqlStats stats = this; stats != null; stats = stats.parent) {
+            stats.rows++;
+        }
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows";
+    }
+}
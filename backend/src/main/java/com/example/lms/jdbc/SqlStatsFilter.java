@@ -0,0 +1,119 @@
+package com.example.lms.jdbc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Development aid: counts the SQL statements and rows of each request, logs them and returns them
+ * in X-SQL-Statements / X-SQL-Rows headers. The body is buffered so the headers can still be set,
+ * which is why this is only enabled with lms.sql-stats.report=true (the dev profile).
+ * Work done on other threads (async auth endpoints, streamed exports) is not attributed to the request.
+ * Handlers that stream their body (StreamingResponseBody, SSE and other ResponseBodyEmitters) are skipped,
+ * since buffering would hold the whole stream in memory and back until it ends.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "lms.sql-stats.report", havingValue = "true")
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String ROWS_HEADER = "X-SQL-Rows";
+
+    private static final String STATS_ATTRIBUTE = SqlStatsFilter.class.getName() + ".STATS";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatsFilter.class);
+
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMapping;
+
+    public SqlStatsFilter(@Qualifier("requestMappingHandlerMapping") ObjectProvider<RequestMappingHandlerMapping> handlerMapping) {
+        this.handlerMapping = handlerMapping;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // The buffered body of async requests is written on the async dispatch
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // The mapping matches on the parsed path, which the DispatcherServlet has not set up yet at this point
+        boolean parsedHere = !ServletRequestPathUtils.hasParsedRequestPath(request);
+        if (parsedHere) {
+            ServletRequestPathUtils.parseAndCache(request);
+        }
+        HandlerExecutionChain chain;
+        try {
+            chain = handlerMapping.getObject().getHandler(request);
+        } catch (Exception e) {
+            return false; // unmapped or failing requests are reported like any other
+        } finally {
+            if (parsedHere) {
+                ServletRequestPathUtils.clearParsedRequestPath(request);
+            }
+        }
+        return chain != null && chain.getHandler() instanceof HandlerMethod method && isStreaming(method);
+    }
+
+    private static boolean isStreaming(HandlerMethod method) {
+        ResolvableType returnType = ResolvableType.forMethodParameter(method.getReturnType());
+        if (ResponseEntity.class.isAssignableFrom(returnType.toClass())) {
+            returnType = returnType.getGeneric(0);
+        }
+        Class<?> body = returnType.toClass();
+        return StreamingResponseBody.class.isAssignableFrom(body) || ResponseBodyEmitter.class.isAssignableFrom(body);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null) {
+            wrapper = new ContentCachingResponseWrapper(response);
+        }
+        SqlStats stats = SqlStatementCounter.begin();
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            SqlStatementCounter.end(stats);
+            if (request.isAsyncStarted()) {
+                request.setAttribute(STATS_ATTRIBUTE, stats);
+            } else {
+                report(request, wrapper, stats, (SqlStats) request.getAttribute(STATS_ATTRIBUTE));
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+    private static void report(HttpServletRequest request, HttpServletResponse response, SqlStats stats, SqlStats initialDispatch) {
+        long statements = stats.getStatements() + (initialDispatch == null ? 0 : initialDispatch.getStatements());
+        long rows = stats.getRows() + (initialDispatch == null ? 0 : initialDispatch.getRows());
+        response.setHeader(STATEMENTS_HEADER, String.valueOf(statements));
+        response.setHeader(ROWS_HEADER, String.valueOf(rows));
+        log.info("{} {} -> {}: {} statements, {} rows", request.getMethod(), request.getRequestURI(),
+                response.getStatus(), statements, rows);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.lms.repository;
+
+import com.example.lms.dto.LoanView;
+import com.example.lms.entity.ArchivedLoan;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
+
+public interface ArchivedLoanRepository extends JpaRepository<ArchivedLoan, Long> {
+    // Newest first, seeking on (returnDate, id) from idx_loan_archive_member
+    @Query("SELECT new com.example.lms.dto.LoanView(a.id, b.isbn, b.title, a.loanDate, a.dueDate, a.returnDate, a.fine, a.extensions)"
+            + " FROM ArchivedLoan a JOIN a.book b WHERE a.member.id = :memberId"
+            + " AND (a.returnDate < :beforeReturn OR (a.returnDate = :beforeReturn AND a.id < :beforeId))"
+            + " ORDER BY a.returnDate DESC, a.id DESC")
+    List<LoanView> findHistoryBefore(@Param("memberId") Long memberId, @Param("beforeReturn") Date beforeReturn,
+                                         @Param("beforeId") long beforeId, Pageable pageable);
+}
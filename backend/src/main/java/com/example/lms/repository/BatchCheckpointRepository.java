@@ -0,0 +1,7 @@
+package com.example.lms.repository;
+
+import com.example.lms.entity.BatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, String> {
+}
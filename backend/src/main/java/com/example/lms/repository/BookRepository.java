@@ -2,9 +2,51 @@
 package com.example.lms.repository;
 
 import com.example.lms.entity.Book;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
     Optional<Book> findByIsbn(String isbn);
+
+    // Increments Book.version at commit; a concurrent borrow of the same book fails with an optimistic lock error
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT b FROM Book b WHERE b.isbn = :isbn")
+    Optional<Book> findByIsbnForLoan(@Param("isbn") String isbn);
+
+    List<Book> findByIsbnIn(Collection<String> isbns);
+
+    // Plain catalog pages in the same seek order, for filtering against the in-memory on-loan index
+    @Query("SELECT b FROM Book b WHERE b.id > :afterId ORDER BY b.id")
+    List<Book> findCatalogAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT b FROM Book b WHERE b.title > :title OR (b.title = :title AND b.id > :afterId) ORDER BY b.title, b.id")
+    List<Book> findCatalogAfterTitle(@Param("title") String title, @Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT b FROM Book b WHERE b.author > :author OR (b.author = :author AND b.id > :afterId) ORDER BY b.author, b.id")
+    List<Book> findCatalogAfterAuthor(@Param("author") String author, @Param("afterId") long afterId, Pageable pageable);
+
+    // Available books = books without an open loan, resolved as one anti-join per page.
+    // Each variant seeks past the last row of the previous page instead of using OFFSET.
+    @Query("SELECT b FROM Book b WHERE b.id > :afterId"
+            + " AND NOT EXISTS (SELECT l.id FROM Loan l WHERE l.book = b AND l.returnDate IS NULL)"
+            + " ORDER BY b.id")
+    List<Book> findAvailableAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT b FROM Book b WHERE (b.title > :title OR (b.title = :title AND b.id > :afterId))"
+            + " AND NOT EXISTS (SELECT l.id FROM Loan l WHERE l.book = b AND l.returnDate IS NULL)"
+            + " ORDER BY b.title, b.id")
+    List<Book> findAvailableAfterTitle(@Param("title") String title, @Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT b FROM Book b WHERE (b.author > :author OR (b.author = :author AND b.id > :afterId))"
+            + " AND NOT EXISTS (SELECT l.id FROM Loan l WHERE l.book = b AND l.returnDate IS NULL)"
+            + " ORDER BY b.author, b.id")
+    List<Book> findAvailableAfterAuthor(@Param("author") String author, @Param("afterId") long afterId, Pageable pageable);
 }
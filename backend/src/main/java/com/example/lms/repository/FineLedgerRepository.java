@@ -0,0 +1,11 @@
+package com.example.lms.repository;
+
+import com.example.lms.entity.FineLedgerEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface FineLedgerRepository extends JpaRepository<FineLedgerEntry, Long> {
+    List<FineLedgerEntry> findByMemberIdOrderByIdDesc(Long memberId, Pageable pageable);
+}
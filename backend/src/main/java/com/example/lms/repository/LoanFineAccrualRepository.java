@@ -0,0 +1,9 @@
+package com.example.lms.repository;
+
+import com.example.lms.entity.LoanFineAccrual;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface LoanFineAccrualRepository extends JpaRepository<LoanFineAccrual, Long> {
+    // Open overdue loans of a member, from idx_fine_accrual_member_open
+    long countByMemberIdAndSettledFalse(Long memberId);
+}
@@ -0,0 +1,14 @@
+package com.example.lms.repository;
+
+import java.util.Date;
+
+/**
+ * Projection of the loan columns the fine jobs need, so chunks are read without loading books or members.
+ */
+public interface LoanFineRow {
+    Long getLoanId();
+    Long getMemberId();
+    Date getDueDate();
+    Date getReturnDate();
+    double getFine();
+}
@@ -1,12 +1,70 @@
 
 package com.example.lms.repository;
 
+import com.example.lms.dto.LoanView;
 import com.example.lms.entity.Loan;
-import com.example.lms.entity.Member;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 public interface LoanRepository extends JpaRepository<Loan, Long> {
-    List<Loan> findByMember(Member member);
+    // One joined select of just the columns the loan list shows; idx_loan_member_open narrows it to the member
+    @Query("SELECT new com.example.lms.dto.LoanView(l.id, b.isbn, b.title, l.loanDate, l.dueDate, l.returnDate, l.fine, l.extensions)"
+            + " FROM Loan l JOIN l.book b WHERE l.member.id = :memberId ORDER BY l.loanDate DESC, l.id DESC")
+    List<LoanView> findViewsByMemberId(@Param("memberId") Long memberId);
+
     List<Loan> findByBookIdAndReturnDateIsNull(Long bookId);
+
+    @Query("SELECT l.book.id FROM Loan l WHERE l.returnDate IS NULL")
+    List<Long> findActiveBookIds();
+
+    @Query("SELECT l.book.id FROM Loan l WHERE l.returnDate IS NULL AND l.book.id IN :bookIds")
+    List<Long> findActiveBookIdsIn(@Param("bookIds") Collection<Long> bookIds);
+
+    @Query("SELECT l FROM Loan l JOIN FETCH l.book b"
+            + " WHERE l.returnDate IS NULL AND (l.id IN :loanIds OR b.isbn IN :isbns)")
+    List<Loan> findOpenLoansForReturn(@Param("loanIds") Collection<Long> loanIds, @Param("isbns") Collection<String> isbns);
+
+    // Served from idx_loan_member_open without reading the member's returned loans
+    @Query("SELECT COUNT(l) AS activeLoans,"
+            + " COALESCE(SUM(CASE WHEN l.dueDate < :now THEN 1 ELSE 0 END), 0) AS overdueLoans"
+            + " FROM Loan l WHERE l.member.id = :memberId AND l.returnDate IS NULL")
+    MemberLoanSummary summarizeOpenLoans(@Param("memberId") Long memberId, @Param("now") Date now);
+
+    // Keyset chunk of open overdue loans in (dueDate, id) order, from idx_loan_open_due
+    @Query("SELECT l.id AS loanId, l.member.id AS memberId, l.dueDate AS dueDate, l.returnDate AS returnDate, l.fine AS fine"
+            + " FROM Loan l WHERE l.returnDate IS NULL AND l.dueDate < :now"
+            + " AND (l.dueDate > :afterDue OR (l.dueDate = :afterDue AND l.id > :afterId))"
+            + " ORDER BY l.dueDate, l.id")
+    List<LoanFineRow> findOverdueChunk(@Param("now") Date now, @Param("afterDue") Date afterDue,
+                                       @Param("afterId") Long afterId, Pageable pageable);
+
+    // Keyset chunk of fined loans returned in [from, to), in (returnDate, id) order, from idx_loan_open_due
+    @Query("SELECT l.id AS loanId, l.member.id AS memberId, l.dueDate AS dueDate, l.returnDate AS returnDate, l.fine AS fine"
+            + " FROM Loan l WHERE l.returnDate >= :from AND l.returnDate < :to AND l.fine > 0"
+            + " AND (l.returnDate > :afterReturn OR (l.returnDate = :afterReturn AND l.id > :afterId))"
+            + " ORDER BY l.returnDate, l.id")
+    List<LoanFineRow> findFinedReturnsChunk(@Param("from") Date from, @Param("to") Date to,
+                                            @Param("afterReturn") Date afterReturn, @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    // Oldest returned loans first, from idx_loan_open_due; archived rows disappear, so no cursor is needed
+    @Query("SELECT l.id FROM Loan l WHERE l.returnDate < :cutoff ORDER BY l.returnDate, l.id")
+    List<Long> findArchivableIds(@Param("cutoff") Date cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("INSERT INTO ArchivedLoan (id, book, member, loanDate, dueDate, returnDate, fine, extensions, archivedAt)"
+            + " SELECT l.id, l.book, l.member, l.loanDate, l.dueDate, l.returnDate, l.fine, l.extensions, CURRENT_TIMESTAMP"
+            + " FROM Loan l WHERE l.id IN :ids")
+    int copyToArchive(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Loan l WHERE l.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
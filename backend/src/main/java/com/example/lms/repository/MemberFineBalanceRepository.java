@@ -0,0 +1,16 @@
+package com.example.lms.repository;
+
+import com.example.lms.entity.MemberFineBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+
+public interface MemberFineBalanceRepository extends JpaRepository<MemberFineBalance, Long> {
+    // Atomic increment; returns 0 when the member has no balance row yet
+    @Modifying
+    @Query("UPDATE MemberFineBalance b SET b.balance = b.balance + :delta, b.updatedAt = :now WHERE b.memberId = :memberId")
+    int addToBalance(@Param("memberId") Long memberId, @Param("delta") double delta, @Param("now") Date now);
+}
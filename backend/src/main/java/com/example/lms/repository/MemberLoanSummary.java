@@ -0,0 +1,9 @@
+package com.example.lms.repository;
+
+/**
+ * Projection of a member's open loans, computed in one aggregate query.
+ */
+public interface MemberLoanSummary {
+    long getActiveLoans();
+    long getOverdueLoans();
+}
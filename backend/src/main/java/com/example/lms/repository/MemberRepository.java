@@ -1,9 +1,13 @@
 package com.example.lms.repository;
 
 import com.example.lms.entity.Member;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
     Optional<Member> findByUsername(String username);
+    List<Member> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
 }
@@ -0,0 +1,48 @@
+package com.example.lms.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal built from verified JWT claims (subject, role, member id) without a database lookup.
+ * Code that needs the full Member resolves it through MemberService.getCurrentMember().
+ */
+public class AuthenticatedMember implements UserDetails {
+
+    private final Long memberId;
+    private final String username;
+    private final String role;
+
+    public AuthenticatedMember(Long memberId, String username, String role) {
+        this.memberId = memberId;
+        this.username = username;
+        this.role = role;
+    }
+
+    public Long getMemberId() {
+        return memberId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+}
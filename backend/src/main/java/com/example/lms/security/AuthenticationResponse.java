@@ -1,8 +1,13 @@
 package com.example.lms.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class AuthenticationResponse {
     private String token;
+    private String refreshToken;
 }
@@ -0,0 +1,10 @@
+package com.example.lms.security;
+
+/**
+ * Thrown when a refresh token is unknown, expired, revoked or has already been used.
+ */
+public class InvalidRefreshTokenException extends RuntimeException {
+    public InvalidRefreshTokenException(String message) {
+        super(message);
+    }
+}
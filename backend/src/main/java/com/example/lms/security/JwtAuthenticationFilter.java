@@ -3,6 +3,8 @@
 
 package com.example.lms.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -41,12 +43,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
+        // Parsed and verified once; the claims are reused for the validity check below
+        Claims claims;
+        try {
+            claims = jwtService.extractAllClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Expired or tampered: carry on unauthenticated so the client gets a 401 and can refresh
+            filterChain.doFilter(request, response);
+            return;
+        }
+        username = claims.getSubject();
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            Long memberId = claims.get(JwtService.MEMBER_ID_CLAIM, Long.class);
+            UserDetails userDetails;
+            if (memberId != null) {
+                // The signature is verified, so the claims are trusted as-is; no member lookup on the hot path
+                userDetails = new AuthenticatedMember(memberId, username, claims.get(JwtService.ROLE_CLAIM, String.class));
+            } else {
+                // Tokens issued before the member id claim existed
+                userDetails = this.userDetailsService.loadUserByUsername(username);
+            }
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (jwtService.isTokenValid(claims, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
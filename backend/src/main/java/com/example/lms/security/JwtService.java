@@ -1,14 +1,23 @@
 package com.example.lms.security;
 
+import com.example.lms.cache.ExpiringCache;
+import com.example.lms.entity.Member;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -17,7 +26,24 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
-    private static final String SECRET_KEY = "your-256-bit-secret-key-here-change-this"; // Use a secure key
+    public static final String ROLE_CLAIM = "role";
+    public static final String MEMBER_ID_CLAIM = "mid";
+    private static final int VERIFIED_TOKEN_CACHE_SIZE = 10_000;
+
+    // Decoded once; building the key and parser per request was the bulk of the auth cost
+    private final Key signInKey;
+    private final JwtParser parser;
+    // Claims of recently verified tokens, keyed by the token's SHA-256 and dropped when the token expires
+    private final ExpiringCache<String, Claims> verifiedTokens = new ExpiringCache<>(VERIFIED_TOKEN_CACHE_SIZE);
+
+    private final long accessTokenTtlMillis;
+
+    public JwtService(@Value("${lms.jwt.secret}") String secretKey,
+                      @Value("${lms.jwt.access-token-ttl:PT15M}") Duration accessTokenTtl) {
+        this.accessTokenTtlMillis = accessTokenTtl.toMillis();
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -29,8 +55,10 @@ public class JwtService {
     }
 
     public String generateToken(UserDetails userDetails) {
+        Member member = (Member) userDetails;
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", ((Member) userDetails).getRole());
+        claims.put(ROLE_CLAIM, member.getRole());
+        claims.put(MEMBER_ID_CLAIM, member.getId());
         return generateToken(claims, userDetails);
     }
 
@@ -40,35 +68,41 @@ public class JwtService {
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 24)) // 24 hours
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenTtlMillis)) // short-lived; renewed via refresh token
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && claims.getExpiration().after(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verifies the token's signature and expiry and returns its claims.
+     * A token is verified at most once while it stays in the cache; later calls are a hash and a map lookup.
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims extractAllClaims(String token) {
+        String cacheKey = hash(token);
+        Claims cached = verifiedTokens.get(cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        verifiedTokens.put(cacheKey, claims, claims.getExpiration().getTime());
+        return claims;
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
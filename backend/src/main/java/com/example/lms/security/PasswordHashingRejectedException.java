@@ -0,0 +1,10 @@
+package com.example.lms.security;
+
+/**
+ * Thrown when the password hashing executor is saturated and the request is shed instead of queued.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.lms.security;
+
+import com.example.lms.dto.AuthenticationResponse;
+import com.example.lms.entity.Member;
+import com.example.lms.entity.RefreshToken;
+import com.example.lms.repository.RefreshTokenRepository;
+import io.jsonwebtoken.io.Decoders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
+
+/**
+ * Issues and rotates long-lived refresh tokens.
+ * Tokens are 256-bit random values stored as a keyed HMAC-SHA256, so a refresh costs one hash and one indexed
+ * lookup instead of a BCrypt verification. Every refresh revokes the presented token and issues a new one;
+ * presenting an already-used token revokes all of that member's tokens.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtService jwtService;
+    private final SecretKeySpec hmacKey;
+    private final Duration refreshTokenTtl;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, JwtService jwtService,
+                               @Value("${lms.jwt.secret}") String secretKey,
+                               @Value("${lms.jwt.refresh-token-ttl:P30D}") Duration refreshTokenTtl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtService = jwtService;
+        this.hmacKey = new SecretKeySpec(Decoders.BASE64.decode(secretKey), "HmacSHA256");
+        this.refreshTokenTtl = refreshTokenTtl;
+    }
+
+    /**
+     * Issues an access token and a new refresh token for a member who has just authenticated.
+     */
+    @Transactional
+    public AuthenticationResponse issue(Member member) {
+        return new AuthenticationResponse(jwtService.generateToken(member), createRefreshToken(member));
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * @throws InvalidRefreshTokenException if the token is unknown, expired, revoked or already used
+     */
+    @Transactional(noRollbackFor = InvalidRefreshTokenException.class)
+    public AuthenticationResponse refresh(String rawToken) {
+        if (rawToken == null || rawToken.isEmpty()) {
+            throw new InvalidRefreshTokenException("Missing refresh token");
+        }
+        RefreshToken stored = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidRefreshTokenException("Unknown refresh token"));
+        Member member = stored.getMember();
+        if (stored.getExpiresAt().before(new Date())) {
+            throw new InvalidRefreshTokenException("Refresh token expired");
+        }
+        // The conditional update decides which of two concurrent refreshes with the same token wins
+        if (stored.isRevoked() || refreshTokenRepository.revoke(stored.getId()) == 0) {
+            // A rotated token came back: assume it was stolen and end every session of this member
+            refreshTokenRepository.revokeAllForMember(member.getId());
+            throw new InvalidRefreshTokenException("Refresh token reuse detected");
+        }
+        return new AuthenticationResponse(jwtService.generateToken(member), createRefreshToken(member));
+    }
+
+    /**
+     * Deletes expired refresh tokens. Revoked tokens are kept until they expire so that reuse is still detected.
+     * @return How many tokens were deleted
+     */
+    @Scheduled(cron = "${lms.jwt.refresh-token-cleanup-cron:0 45 3 * * *}")
+    @Transactional
+    public int purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(new Date());
+        log.info("Deleted {} expired refresh tokens", deleted);
+        return deleted;
+    }
+
+    private String createRefreshToken(Member member) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        RefreshToken token = new RefreshToken();
+        token.setMember(member);
+        token.setTokenHash(hash(rawToken));
+        Date now = new Date();
+        token.setCreatedAt(now);
+        token.setExpiresAt(new Date(now.getTime() + refreshTokenTtl.toMillis()));
+        refreshTokenRepository.save(token);
+        return rawToken;
+    }
+
+    private String hash(String rawToken) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(hmacKey);
+            return HexFormat.of().formatHex(mac.doFinal(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.lms.service;
+
+import com.example.lms.dto.AvailabilityEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans book availability changes out to the subscribers of /api/books/availability/stream.
+ * Subscribers are async SseEmitters, so an idle connection holds no thread. Each one has a small bounded
+ * buffer; when a slow client falls behind the oldest events are dropped rather than the buffer growing.
+ * A few dispatcher threads drain the buffers, at most one drain per subscriber at a time, so events reach
+ * each client in the order they were published. Events are hints: a client that reconnects or sees a gap
+ * should reload the listing.
+ */
+@Component
+public class AvailabilityFeed {
+
+    // Queued when a subscriber's buffer is empty so proxies and load balancers keep the connection open
+    private static final AvailabilityEvent HEARTBEAT = new AvailabilityEvent();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final Counter dropped;
+
+    public AvailabilityFeed(ObjectProvider<MeterRegistry> meterRegistry,
+                            @Value("${lms.availability.dispatch-threads:2}") int threads,
+                            @Value("${lms.availability.buffer-size:32}") int bufferSize,
+                            @Value("${lms.availability.timeout:PT30M}") Duration timeout) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Unbounded work queue, but a subscriber never has more than one pending drain
+        this.dispatcher = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "availability-feed-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        Gauge.builder("lms.availability.subscribers", subscribers, Set::size)
+                .description("Open availability stream connections")
+                .register(registry);
+        this.dropped = Counter.builder("lms.availability.dropped")
+                .description("Availability events dropped because a subscriber's buffer was full")
+                .register(registry);
+    }
+
+    /**
+     * Opens a stream for the current request. The connection is closed after lms.availability.timeout;
+     * EventSource clients reconnect on their own.
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    // Runs only once the borrow or return that published the event has committed
+    @TransactionalEventListener
+    public void onAvailabilityChanged(AvailabilityEvent event) {
+        subscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    @Scheduled(fixedDelayString = "${lms.availability.heartbeat:PT20S}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        dispatcher.shutdown();
+    }
+
+    private final class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+        private final ArrayDeque<AvailabilityEvent> buffer = new ArrayDeque<>();
+        // Not a monitor: offer runs on request threads, which may be virtual
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean scheduled; // a drain is queued or running; guarded by lock
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(AvailabilityEvent event) {
+            lock.lock();
+            try {
+                if (event == HEARTBEAT && !buffer.isEmpty()) {
+                    return;
+                }
+                if (buffer.size() == bufferSize) {
+                    buffer.pollFirst();
+                    dropped.increment();
+                }
+                buffer.addLast(event);
+                if (scheduled) {
+                    return;
+                }
+                scheduled = true;
+            } finally {
+                lock.unlock();
+            }
+            dispatcher.execute(this);
+        }
+
+        // Sends at most one buffer's worth, then yields the thread to other subscribers
+        @Override
+        public void run() {
+            for (int sent = 0; sent < bufferSize; sent++) {
+                AvailabilityEvent event;
+                lock.lock();
+                try {
+                    event = buffer.pollFirst();
+                    if (event == null) {
+                        scheduled = false;
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                try {
+                    emitter.send(event == HEARTBEAT ? SseEmitter.event().comment("heartbeat")
+                            : SseEmitter.event().name("availability").data(event));
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away or the emitter completed; the container completes the request
+                    subscribers.remove(this);
+                    return;
+                }
+            }
+            dispatcher.execute(this);
+        }
+    }
+}
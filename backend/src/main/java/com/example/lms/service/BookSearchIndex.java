@@ -0,0 +1,225 @@
+package com.example.lms.service;
+
+import com.example.lms.dto.BookSearchHit;
+import com.example.lms.dto.BookSearchPage;
+import com.example.lms.entity.Book;
+import com.example.lms.repository.BookRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-process inverted index over Book title and author.
+ * Every token is indexed by its edge n-grams, so one posting map serves whole-word search and prefix autocomplete.
+ * Loaded from the catalog at startup and updated incrementally through {@link BookSearchIndexListener}.
+ */
+@Component
+public class BookSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+    private static final int MIN_GRAM = 2;
+    private static final int MAX_GRAM = 12;
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final BookRepository bookRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IntPostingList> grams = new HashMap<>();
+    private final Map<Integer, IndexedBook> books = new HashMap<>();
+
+    public BookSearchIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long afterId = 0;
+        List<Book> chunk;
+        do {
+            chunk = bookRepository.findCatalogAfterId(afterId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            chunk.forEach(this::put);
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+        log.info("Book search index built with {} books and {} grams", books.size(), grams.size());
+    }
+
+    /**
+     * Adds or re-indexes a book.
+     */
+    public void put(Book book) {
+        IndexedBook doc = new IndexedBook(Math.toIntExact(book.getId()), book.getTitle(), book.getAuthor(), book.getIsbn());
+        lock.writeLock().lock();
+        try {
+            removeLocked(doc.id);
+            books.put(doc.id, doc);
+            forEachGram(doc, gram -> grams.computeIfAbsent(gram, g -> new IntPostingList()).add(doc.id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long bookId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(bookId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(int bookId) {
+        IndexedBook previous = books.remove(bookId);
+        if (previous == null) {
+            return;
+        }
+        forEachGram(previous, gram -> {
+            IntPostingList postings = grams.get(gram);
+            if (postings != null) {
+                postings.remove(bookId);
+                if (postings.isEmpty()) {
+                    grams.remove(gram);
+                }
+            }
+        });
+    }
+
+    /**
+     * Ranked search over title and author.
+     * @param query Free text; every word must match a word of the title or author
+     * @param prefix When true the last word only needs to be a prefix (autocomplete)
+     * @param page Zero-based page number
+     * @param size Page size
+     * @return The requested page of hits, best match first
+     */
+    public BookSearchPage search(String query, boolean prefix, int page, int size) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new BookSearchPage(List.of(), 0, page, size);
+        }
+        String normalizedQuery = String.join(" ", terms);
+        List<BookSearchHit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int[] candidates = null;
+            for (String term : terms) {
+                if (term.length() < MIN_GRAM) {
+                    continue;
+                }
+                IntPostingList postings = grams.get(term.length() > MAX_GRAM ? term.substring(0, MAX_GRAM) : term);
+                if (postings == null) {
+                    return new BookSearchPage(List.of(), 0, page, size);
+                }
+                candidates = candidates == null ? postings.toArray() : postings.retainAll(candidates);
+            }
+            if (candidates == null) {
+                return new BookSearchPage(List.of(), 0, page, size);
+            }
+            for (int id : candidates) {
+                IndexedBook doc = books.get(id);
+                double score = score(doc, terms, prefix, normalizedQuery);
+                if (score > 0) {
+                    hits.add(new BookSearchHit(doc.id, doc.title, doc.author, doc.isbn, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingDouble(BookSearchHit::getScore).reversed()
+                .thenComparing(hit -> hit.getTitle() == null ? "" : hit.getTitle())
+                .thenComparingLong(BookSearchHit::getId));
+        int from = (int) Math.min((long) page * size, hits.size()); // long: a huge page number must not wrap negative
+        int to = Math.min(from + size, hits.size());
+        return new BookSearchPage(new ArrayList<>(hits.subList(from, to)), hits.size(), page, size);
+    }
+
+    // Whole-word title matches rank above author matches, which rank above prefix matches
+    private static double score(IndexedBook doc, List<String> terms, boolean prefix, String normalizedQuery) {
+        double total = 0;
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            boolean allowPrefix = prefix && i == terms.size() - 1;
+            double best = Math.max(fieldScore(doc.titleTokens, term, allowPrefix, 3, 1.5),
+                    fieldScore(doc.authorTokens, term, allowPrefix, 2, 1));
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        if (String.join(" ", doc.titleTokens).startsWith(normalizedQuery)) {
+            total += 1;
+        }
+        return total;
+    }
+
+    private static double fieldScore(String[] tokens, String term, boolean allowPrefix, double exact, double partial) {
+        double best = 0;
+        for (String token : tokens) {
+            if (token.equals(term)) {
+                return exact;
+            }
+            if (allowPrefix && token.startsWith(term)) {
+                best = partial;
+            }
+        }
+        return best;
+    }
+
+    private static void forEachGram(IndexedBook doc, Consumer<String> action) {
+        Set<String> seen = new HashSet<>();
+        for (String[] tokens : new String[][] {doc.titleTokens, doc.authorTokens}) {
+            for (String token : tokens) {
+                for (int len = MIN_GRAM; len <= Math.min(token.length(), MAX_GRAM); len++) {
+                    String gram = token.substring(0, len);
+                    if (seen.add(gram)) {
+                        action.accept(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(folded.split("[^\\p{Alnum}]+")).filter(token -> !token.isEmpty()).toList();
+    }
+
+    private static final class IndexedBook {
+        final int id;
+        final String title;
+        final String author;
+        final String isbn;
+        final String[] titleTokens;
+        final String[] authorTokens;
+
+        IndexedBook(int id, String title, String author, String isbn) {
+            this.id = id;
+            this.title = title;
+            this.author = author;
+            this.isbn = isbn;
+            this.titleTokens = tokenize(title).toArray(String[]::new);
+            this.authorTokens = tokenize(author).toArray(String[]::new);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.lms.service;
+
+import com.example.lms.entity.Book;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that keeps {@link BookSearchIndex} and the catalog ETag in step with every Book insert,
+ * update and delete. Changes are applied after the surrounding transaction commits so rolled-back edits never
+ * reach the index.
+ */
+@Component
+public class BookSearchIndexListener {
+
+    private final BookSearchIndex bookSearchIndex;
+    private final VersionStamps versionStamps;
+
+    public BookSearchIndexListener(@Lazy BookSearchIndex bookSearchIndex, VersionStamps versionStamps) {
+        this.bookSearchIndex = bookSearchIndex;
+        this.versionStamps = versionStamps;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Book book) {
+        afterCommit(() -> {
+            bookSearchIndex.put(book);
+            versionStamps.catalogChanged();
+        });
+    }
+
+    @PostRemove
+    public void onRemove(Book book) {
+        Long id = book.getId();
+        afterCommit(() -> {
+            bookSearchIndex.remove(id);
+            versionStamps.catalogChanged();
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.lms.service;
+
+import com.example.lms.entity.BatchCheckpoint;
+import com.example.lms.repository.BatchCheckpointRepository;
+import com.example.lms.repository.LoanFineRow;
+import com.example.lms.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Scheduled job that keeps the fine ledger current. Two passes, each walking loans in keyset chunks over
+ * idx_loan_open_due (return_date, due_date):
+ * <ul>
+ *   <li>accrual: open loans past their due date have their fine brought up to the run's cut-off;</li>
+ *   <li>settlement: loans returned since the previous run have the ledger corrected to the fine charged.</li>
+ * </ul>
+ * Every chunk commits its ledger changes together with the job's checkpoint, so a crashed run resumes after the
+ * last committed chunk, and the ledger operations are idempotent per loan in case a chunk is replayed anyway.
+ * The job only reads loans, in short transactions, so it never holds locks the borrow and return paths wait on.
+ */
+@Component
+public class FineAccrualJob {
+
+    static final String ACCRUAL = "fine-accrual";
+    static final String SETTLEMENT = "fine-settlement";
+
+    private static final Logger log = LoggerFactory.getLogger(FineAccrualJob.class);
+
+    private final LoanRepository loanRepository;
+    private final BatchCheckpointRepository checkpointRepository;
+    private final FineLedgerService fineLedger;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public FineAccrualJob(LoanRepository loanRepository, BatchCheckpointRepository checkpointRepository,
+                          FineLedgerService fineLedger, PlatformTransactionManager transactionManager,
+                          @Value("${lms.fines.chunk-size:500}") int chunkSize) {
+        this.loanRepository = loanRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.fineLedger = fineLedger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Runs both passes, resuming an interrupted run first. Does nothing if a run is already in progress here.
+     * @return false if another run was in progress
+     */
+    @Scheduled(cron = "${lms.fines.accrual-cron:0 5 * * * *}")
+    public boolean run() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            runChunked(ACCRUAL, (checkpoint, chunk) -> {
+                List<LoanFineRow> loans = loanRepository.findOverdueChunk(checkpoint.getRunStartedAt(),
+                        checkpoint.getCursorDate(), checkpoint.getCursorId(), chunk);
+                fineLedger.accrue(loans, checkpoint.getRunStartedAt());
+                return loans;
+            }, LoanFineRow::getDueDate);
+            runChunked(SETTLEMENT, (checkpoint, chunk) -> {
+                Date from = checkpoint.getWindowStart() == null ? new Date(0) : checkpoint.getWindowStart();
+                List<LoanFineRow> loans = loanRepository.findFinedReturnsChunk(from, checkpoint.getRunStartedAt(),
+                        checkpoint.getCursorDate(), checkpoint.getCursorId(), chunk);
+                fineLedger.settle(loans, checkpoint.getRunStartedAt());
+                return loans;
+            }, LoanFineRow::getReturnDate);
+            return true;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void runChunked(String jobName, BiFunction<BatchCheckpoint, Pageable, List<LoanFineRow>> processChunk,
+                            Function<LoanFineRow, Date> cursorDate) {
+        BatchCheckpoint started = transactionTemplate.execute(status -> startOrResume(jobName));
+        long processed = 0;
+        boolean done = false;
+        while (!done) {
+            List<LoanFineRow> loans = transactionTemplate.execute(status -> {
+                BatchCheckpoint checkpoint = checkpointRepository.findById(jobName).orElseThrow();
+                List<LoanFineRow> chunk = processChunk.apply(checkpoint, PageRequest.of(0, chunkSize));
+                if (chunk.size() < chunkSize) {
+                    checkpoint.setCompleted(true);
+                } else {
+                    LoanFineRow last = chunk.get(chunk.size() - 1);
+                    checkpoint.setCursorDate(cursorDate.apply(last));
+                    checkpoint.setCursorId(last.getLoanId());
+                }
+                checkpoint.setUpdatedAt(new Date());
+                checkpointRepository.save(checkpoint);
+                return chunk;
+            });
+            processed += loans.size();
+            done = loans.size() < chunkSize;
+        }
+        log.info("{} run as of {} processed {} loans", jobName, started.getRunStartedAt(), processed);
+    }
+
+    // A run that did not complete is resumed with its original cut-off; otherwise a new run covers the time since
+    private BatchCheckpoint startOrResume(String jobName) {
+        BatchCheckpoint checkpoint = checkpointRepository.findById(jobName).orElse(null);
+        if (checkpoint != null && !checkpoint.isCompleted()) {
+            log.info("Resuming {} run as of {} after loan {}", jobName, checkpoint.getRunStartedAt(), checkpoint.getCursorId());
+            return checkpoint;
+        }
+        if (checkpoint == null) {
+            checkpoint = new BatchCheckpoint();
+            checkpoint.setJobName(jobName);
+        } else {
+            checkpoint.setWindowStart(checkpoint.getRunStartedAt());
+        }
+        Date now = new Date();
+        checkpoint.setRunStartedAt(now);
+        checkpoint.setCursorDate(new Date(0));
+        checkpoint.setCursorId(0L);
+        checkpoint.setCompleted(false);
+        checkpoint.setUpdatedAt(now);
+        return checkpointRepository.save(checkpoint);
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.lms.service;
+
+import com.example.lms.dto.FineSummary;
+import com.example.lms.entity.FineLedgerEntry;
+import com.example.lms.entity.LoanFineAccrual;
+import com.example.lms.entity.MemberFineBalance;
+import com.example.lms.repository.FineLedgerRepository;
+import com.example.lms.repository.LoanFineAccrualRepository;
+import com.example.lms.repository.LoanFineRow;
+import com.example.lms.repository.MemberFineBalanceRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-member fine ledger. The accrual job feeds it chunks of loans; every change to a loan's fine becomes a
+ * ledger entry and is added to the member's running balance, so balances and overdue counts are indexed reads.
+ * Both operations are idempotent per loan, so a chunk that is replayed after a restart adds nothing twice.
+ */
+@Service
+public class FineLedgerService {
+
+    private static final int RECENT_ENTRIES = 50;
+
+    private final LoanFineAccrualRepository accrualRepository;
+    private final FineLedgerRepository ledgerRepository;
+    private final MemberFineBalanceRepository balanceRepository;
+
+    public FineLedgerService(LoanFineAccrualRepository accrualRepository, FineLedgerRepository ledgerRepository,
+                             MemberFineBalanceRepository balanceRepository) {
+        this.accrualRepository = accrualRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.balanceRepository = balanceRepository;
+    }
+
+    /**
+     * Brings the accrued fine of open overdue loans up to the given time. Runs in the caller's transaction.
+     * @param loans Open loans past their due date
+     * @param asOf The cut-off of the current run
+     */
+    public void accrue(List<LoanFineRow> loans, Date asOf) {
+        Map<Long, LoanFineAccrual> accruals = loadAccruals(loans);
+        List<LoanFineAccrual> changed = new ArrayList<>();
+        List<FineLedgerEntry> entries = new ArrayList<>();
+        for (LoanFineRow loan : loans) {
+            LoanFineAccrual accrual = accruals.computeIfAbsent(loan.getLoanId(), id -> newAccrual(loan));
+            double fine = LoanService.computeFine(loan.getDueDate(), asOf);
+            // A fine never shrinks while the loan is open, so only positive steps are recorded
+            if (accrual.isSettled() || fine <= accrual.getAccrued()) {
+                continue;
+            }
+            entries.add(entry(loan, FineLedgerEntry.ACCRUAL, fine - accrual.getAccrued(), asOf));
+            accrual.setAccrued(fine);
+            accrual.setUpdatedAt(asOf);
+            changed.add(accrual);
+        }
+        record(changed, entries, asOf);
+    }
+
+    /**
+     * Settles returned loans: the ledger is corrected from the accrued amount to the fine charged at return.
+     * Covers loans returned before the job ever saw them overdue. Runs in the caller's transaction.
+     * @param loans Returned loans with a fine
+     * @param asOf The cut-off of the current run
+     */
+    public void settle(List<LoanFineRow> loans, Date asOf) {
+        Map<Long, LoanFineAccrual> accruals = loadAccruals(loans);
+        List<LoanFineAccrual> changed = new ArrayList<>();
+        List<FineLedgerEntry> entries = new ArrayList<>();
+        for (LoanFineRow loan : loans) {
+            LoanFineAccrual accrual = accruals.computeIfAbsent(loan.getLoanId(), id -> newAccrual(loan));
+            if (accrual.isSettled()) {
+                continue;
+            }
+            double delta = loan.getFine() - accrual.getAccrued();
+            if (delta != 0) {
+                entries.add(entry(loan, FineLedgerEntry.SETTLEMENT, delta, asOf));
+            }
+            accrual.setAccrued(loan.getFine());
+            accrual.setSettled(true);
+            accrual.setUpdatedAt(asOf);
+            changed.add(accrual);
+        }
+        record(changed, entries, asOf);
+    }
+
+    /**
+     * The member's balance, the number of overdue loans accruing fines and the latest ledger entries.
+     */
+    public FineSummary getSummary(Long memberId) {
+        double balance = balanceRepository.findById(memberId).map(MemberFineBalance::getBalance).orElse(0.0);
+        return new FineSummary(balance, accrualRepository.countByMemberIdAndSettledFalse(memberId),
+                ledgerRepository.findByMemberIdOrderByIdDesc(memberId, PageRequest.of(0, RECENT_ENTRIES)));
+    }
+
+    private Map<Long, LoanFineAccrual> loadAccruals(List<LoanFineRow> loans) {
+        return accrualRepository.findAllById(loans.stream().map(LoanFineRow::getLoanId).toList()).stream()
+                .collect(Collectors.toMap(LoanFineAccrual::getLoanId, Function.identity(), (a, b) -> a, HashMap::new));
+    }
+
+    // Accruals, ledger entries and balances change in the caller's transaction, so a chunk is all or nothing
+    private void record(List<LoanFineAccrual> changed, List<FineLedgerEntry> entries, Date now) {
+        accrualRepository.saveAll(changed);
+        ledgerRepository.saveAll(entries);
+        Map<Long, Double> deltas = new LinkedHashMap<>();
+        entries.forEach(entry -> deltas.merge(entry.getMemberId(), entry.getAmount(), Double::sum));
+        deltas.forEach((memberId, delta) -> {
+            if (balanceRepository.addToBalance(memberId, delta, now) == 0) {
+                balanceRepository.save(new MemberFineBalance(memberId, delta, now));
+            }
+        });
+    }
+
+    private static LoanFineAccrual newAccrual(LoanFineRow loan) {
+        LoanFineAccrual accrual = new LoanFineAccrual();
+        accrual.setLoanId(loan.getLoanId());
+        accrual.setMemberId(loan.getMemberId());
+        return accrual;
+    }
+
+    private static FineLedgerEntry entry(LoanFineRow loan, String type, double amount, Date now) {
+        FineLedgerEntry entry = new FineLedgerEntry();
+        entry.setMemberId(loan.getMemberId());
+        entry.setLoanId(loan.getLoanId());
+        entry.setType(type);
+        entry.setAmount(amount);
+        entry.setCreatedAt(now);
+        return entry;
+    }
+}
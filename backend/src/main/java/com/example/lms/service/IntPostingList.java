@@ -0,0 +1,91 @@
+package com.example.lms.service;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, growable list of int document IDs used as a posting list by the in-memory search indexes.
+ * Primitive storage keeps millions of postings at 4 bytes each instead of a boxed Long per entry.
+ * Not thread-safe; callers guard it with their own lock.
+ */
+public final class IntPostingList {
+
+    private int[] ids = new int[2];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(int id) {
+        // IDs mostly arrive in ascending order, so appending is the common case
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return;
+        }
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            return;
+        }
+        int insertAt = -pos - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    public void remove(int id) {
+        int pos = Arrays.binarySearch(ids, 0, size, id);
+        if (pos >= 0) {
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+        }
+    }
+
+    /**
+     * @return the ID at the given position, in ascending order
+     */
+    public int get(int index) {
+        return ids[index];
+    }
+
+    public boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * @return the IDs present in both the given sorted array and this list
+     */
+    public int[] retainAll(int[] sorted) {
+        int[] out = new int[Math.min(sorted.length, size)];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < sorted.length && j < size) {
+            if (sorted[i] < ids[j]) {
+                i++;
+            } else if (sorted[i] > ids[j]) {
+                j++;
+            } else {
+                out[n++] = sorted[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.lms.service;
+
+/**
+ * Thrown when a paged listing is asked for an unknown sort order or given a cursor it did not issue.
+ */
+public class InvalidPageRequestException extends RuntimeException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.lms.service;
+
+import com.example.lms.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background mover that keeps the loan table to open and recently returned loans. Returned loans older than
+ * lms.loans.archive-after are copied to loan_archive and deleted from loan, one chunk per transaction,
+ * so a chunk is either fully moved or untouched and an interrupted run simply continues on the next one.
+ * Open loans are never selected, so borrows, returns and the on-loan index are unaffected.
+ */
+@Component
+public class LoanArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(LoanArchiver.class);
+
+    private final LoanRepository loanRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration archiveAfter;
+    private final int chunkSize;
+    private final VersionStamps versionStamps;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public LoanArchiver(LoanRepository loanRepository, PlatformTransactionManager transactionManager,
+                        @Value("${lms.loans.archive-after:P180D}") Duration archiveAfter,
+                        @Value("${lms.loans.archive-chunk-size:500}") int chunkSize, VersionStamps versionStamps) {
+        this.loanRepository = loanRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveAfter = archiveAfter;
+        this.chunkSize = chunkSize;
+        this.versionStamps = versionStamps;
+    }
+
+    /**
+     * Moves every returned loan older than the configured age to the archive.
+     * @return How many loans were moved, or -1 if a run was already in progress
+     */
+    @Scheduled(cron = "${lms.loans.archive-cron:0 30 3 * * *}")
+    public long archive() {
+        if (!running.compareAndSet(false, true)) {
+            return -1;
+        }
+        try {
+            Date cutoff = new Date(System.currentTimeMillis() - archiveAfter.toMillis());
+            long moved = 0;
+            int chunk;
+            do {
+                chunk = transactionTemplate.execute(status -> {
+                    List<Long> ids = loanRepository.findArchivableIds(cutoff, PageRequest.of(0, chunkSize));
+                    if (ids.isEmpty()) {
+                        return 0;
+                    }
+                    loanRepository.copyToArchive(ids);
+                    return loanRepository.deleteAllByIdIn(ids);
+                });
+                moved += chunk;
+                if (chunk > 0) {
+                    versionStamps.allLoansChanged(); // archived loans leave /api/loans/my
+                }
+            } while (chunk == chunkSize);
+            log.info("Archived {} loans returned before {}", moved, cutoff);
+            return moved;
+        } finally {
+            running.set(false);
+        }
+    }
+}
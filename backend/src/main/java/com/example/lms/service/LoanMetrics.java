@@ -0,0 +1,71 @@
+package com.example.lms.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Business counters for the loan desk: successful borrows, returns and renewals, and rejections
+ * tagged by operation and by a slug of the rejection message (e.g. "Book not available" -> book_not_available).
+ * Only the fixed messages LoanService and MemberEligibility throw become tags; anything else is "other",
+ * so the number of time series stays bounded.
+ */
+@Component
+public class LoanMetrics {
+
+    private static final Set<String> KNOWN_REASONS = Set.of(
+            "Book not found", "Book not available", "Borrow limit reached", "Membership expired",
+            "Has overdue books", "Duplicate ISBN", "Loan not found", "Not your loan", "Already returned",
+            "Overdue, cannot renew", "Max renewals reached");
+
+    private final MeterRegistry registry;
+    private final Counter borrowed;
+    private final Counter returned;
+    private final Counter renewed;
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public LoanMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.borrowed = Counter.builder("lms.loans.borrowed").description("Books lent").register(registry);
+        this.returned = Counter.builder("lms.loans.returned").description("Loans returned").register(registry);
+        this.renewed = Counter.builder("lms.loans.renewed").description("Loans renewed").register(registry);
+    }
+
+    public void borrowed(int count) {
+        borrowed.increment(count);
+    }
+
+    public void returned(int count) {
+        returned.increment(count);
+    }
+
+    public void renewed() {
+        renewed.increment();
+    }
+
+    /**
+     * Counts a rejected borrow, return or renewal.
+     * @param operation borrow, return or renew
+     * @param message The message of the RuntimeException (or batch result) that rejected it
+     */
+    public void rejected(String operation, String message) {
+        String reason = reason(message);
+        rejections.computeIfAbsent(operation + ':' + reason, key -> Counter.builder("lms.loans.rejected")
+                .description("Loan operations rejected by a business rule")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(registry)).increment();
+    }
+
+    static String reason(String message) {
+        if (message == null || !KNOWN_REASONS.contains(message)) {
+            return "other";
+        }
+        return message.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_").replaceAll("^_|_$", "");
+    }
+}
@@ -1,77 +1,291 @@
 
 package com.example.lms.service;
 
+import com.example.lms.dto.AvailabilityEvent;
+import com.example.lms.dto.BatchBorrowResult;
+import com.example.lms.dto.BookPage;
+import com.example.lms.dto.BulkReturnResult;
+import com.example.lms.dto.LoanHistoryPage;
+import com.example.lms.dto.LoanView;
+import com.example.lms.dto.OnLoanIndexReport;
 import com.example.lms.entity.Book;
 import com.example.lms.entity.Loan;
 import com.example.lms.entity.Member;
+import com.example.lms.repository.ArchivedLoanRepository;
 import com.example.lms.repository.BookRepository;
 import com.example.lms.repository.LoanRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 @Service
 public class LoanService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int SCAN_CHUNK_SIZE = 500;
+    private static final Set<String> SORTS = Set.of("id", "title", "author");
+
     private final LoanRepository loanRepository;
     private final BookRepository bookRepository;
     private final MemberService memberService;
+    private final OnLoanIndex onLoanIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final LoanMetrics loanMetrics;
+    private final ArchivedLoanRepository archivedLoanRepository;
+    private final VersionStamps versionStamps;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public LoanService(LoanRepository loanRepository, BookRepository bookRepository, MemberService memberService) {
+    public LoanService(LoanRepository loanRepository, BookRepository bookRepository, MemberService memberService,
+                       OnLoanIndex onLoanIndex, PlatformTransactionManager transactionManager, EntityManager entityManager,
+                       LoanMetrics loanMetrics, ArchivedLoanRepository archivedLoanRepository,
+                       VersionStamps versionStamps, ApplicationEventPublisher eventPublisher) {
         this.loanRepository = loanRepository;
         this.bookRepository = bookRepository;
         this.memberService = memberService;
+        this.onLoanIndex = onLoanIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.loanMetrics = loanMetrics;
+        this.archivedLoanRepository = archivedLoanRepository;
+        this.versionStamps = versionStamps;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<Loan> getMyLoans() {
+    // Open and recently returned loans only; older history lives in loan_archive (see getLoanHistory)
+    public List<LoanView> getMyLoans() {
         Member member = memberService.getCurrentMember();
-        return loanRepository.findByMember(member);
+        return loanRepository.findViewsByMemberId(member.getId());
     }
 
-    public void borrowBook(String isbn) {
+    /**
+     * Pages through the current member's archived loans, newest return first.
+     * @param before nextCursor of the previous page, omitted for the first page
+     * @param limit Page size (capped at 200)
+     * @return The page of archived loans and the cursor for the next one
+     */
+    public LoanHistoryPage getLoanHistory(String before, int limit) {
         Member member = memberService.getCurrentMember();
-        // Check membership validity (1 year)
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(member.getRegistrationDate());
-        cal.add(Calendar.YEAR, 1);
-        if (cal.getTime().before(new Date())) {
-            throw new RuntimeException("Membership expired");
-        }
-        // Check active loans < 3
-        long activeLoans = getMyLoans().stream().filter(loan -> loan.getReturnDate() == null).count();
-        if (activeLoans >= 3) {
-            throw new RuntimeException("Borrow limit reached");
-        }
-        // Check no overdue
-        boolean hasOverdue = getMyLoans().stream().anyMatch(loan -> loan.getReturnDate() == null && loan.getDueDate().before(new Date()));
-        if (hasOverdue) {
-            throw new RuntimeException("Has overdue books");
-        }
-        // Find book
-        Book book = bookRepository.findByIsbn(isbn).orElseThrow(() -> new RuntimeException("Book not found"));
-        // Check availability
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Date beforeReturn = new Date();
+        long beforeId = Long.MAX_VALUE;
+        if (before != null) {
+            String[] cursor = splitCursor(before);
+            beforeReturn = new Date(parseCursorNumber(cursor[0]));
+            beforeId = parseCursorNumber(cursor[1]);
+        }
+        List<LoanView> loans = archivedLoanRepository.findHistoryBefore(member.getId(), beforeReturn, beforeId,
+                PageRequest.of(0, pageSize + 1));
+        if (loans.size() <= pageSize) {
+            return new LoanHistoryPage(loans, null);
+        }
+        List<LoanView> page = loans.subList(0, pageSize);
+        LoanView last = page.get(pageSize - 1);
+        return new LoanHistoryPage(page, encodeCursor(String.valueOf(last.getReturnDate().getTime()), last.getId()));
+    }
+
+    public void borrowBook(String isbn) {
+        Member member;
+        try {
+            member = memberService.getCurrentMember();
+            try {
+                transactionTemplate.executeWithoutResult(status -> createLoan(isbn, member));
+            } catch (OptimisticLockingFailureException e) {
+                // Another borrow of the same book committed first
+                throw new RuntimeException("Book not available");
+            }
+        } catch (RuntimeException e) {
+            loanMetrics.rejected("borrow", e.getMessage());
+            throw e;
+        }
+        // The loan has committed; nothing after this point may report the borrow as failed
+        loanMetrics.borrowed(1);
+        loansChanged(member.getId());
+    }
+
+    private void createLoan(String isbn, Member member) {
+        Member borrower = lockForBorrow(member);
+        getEligibility(borrower).requireCanBorrow();
+        // Find book; OPTIMISTIC_FORCE_INCREMENT makes the book's version guard the insert at commit
+        Book book = bookRepository.findByIsbnForLoan(isbn).orElseThrow(() -> new RuntimeException("Book not found"));
+        // Reserve the copy in the on-loan index; losers of a same-book race on this instance are rejected cheaply
+        boolean reserved = onLoanIndex.isReady();
+        if (reserved && !onLoanIndex.tryMarkOnLoan(book.getId())) {
+            throw new RuntimeException("Book not available");
+        }
+        List<Long> bookIds = new ArrayList<>(List.of(book.getId()));
+        syncOnLoanIndexAfterCompletion(bookIds, reserved);
+        // The index is process-local and misses loans made by other instances, so the database has the final say
         if (!loanRepository.findByBookIdAndReturnDateIsNull(book.getId()).isEmpty()) {
+            bookIds.clear(); // keep the reservation: the book is on loan and the index was stale
             throw new RuntimeException("Book not available");
         }
-        // Create loan
+        loanRepository.save(newLoan(book, borrower));
+        availabilityChanged(book.getId(), false);
+    }
+
+    /**
+     * Borrows several books for the current member in one transaction, as scanned at the checkout desk.
+     * Eligibility is checked once, all ISBNs are resolved with one IN query and the loans are inserted as a JDBC batch.
+     * @param isbns The scanned ISBNs, in scan order
+     * @return One result per ISBN saying whether it was lent and, if not, why
+     */
+    public List<BatchBorrowResult> borrowBooks(List<String> isbns) {
+        Member member = memberService.getCurrentMember();
+        List<BatchBorrowResult> results = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> createLoans(isbns, member, results));
+        } catch (OptimisticLockingFailureException e) {
+            // Another borrow of one of these books committed first; the whole batch was rolled back
+            results.replaceAll(result -> result.isSuccess()
+                    ? new BatchBorrowResult(result.getIsbn(), false, "Book not available") : result);
+        } catch (RuntimeException e) {
+            loanMetrics.rejected("borrow", e.getMessage());
+            throw e;
+        }
+        boolean lent = false;
+        for (BatchBorrowResult result : results) {
+            if (result.isSuccess()) {
+                loanMetrics.borrowed(1);
+                lent = true;
+            } else {
+                loanMetrics.rejected("borrow", result.getMessage());
+            }
+        }
+        if (lent) {
+            loansChanged(member.getId());
+        }
+        return results;
+    }
+
+    private void createLoans(List<String> isbns, Member member, List<BatchBorrowResult> results) {
+        Member borrower = lockForBorrow(member);
+        MemberEligibility eligibility = getEligibility(borrower);
+        eligibility.requireCanBorrow();
+        int slots = eligibility.remainingLoanSlots();
+        Map<String, Book> booksByIsbn = new HashMap<>();
+        bookRepository.findByIsbnIn(new HashSet<>(isbns)).forEach(book -> booksByIsbn.put(book.getIsbn(), book));
+        boolean reserved = onLoanIndex.isReady();
+        // Checked against the database even with the index ready: the index misses other instances' loans
+        Set<Long> onLoan = new HashSet<>(loanRepository.findActiveBookIdsIn(
+                booksByIsbn.values().stream().map(Book::getId).toList()));
+        Set<String> seen = new HashSet<>();
+        List<Long> lentBookIds = new ArrayList<>();
+        syncOnLoanIndexAfterCompletion(lentBookIds, reserved);
+        List<Loan> loans = new ArrayList<>();
+        for (String isbn : isbns) {
+            Book book = booksByIsbn.get(isbn);
+            String failure = null;
+            if (!seen.add(isbn)) {
+                failure = "Duplicate ISBN";
+            } else if (book == null) {
+                failure = "Book not found";
+            } else if (loans.size() >= slots) {
+                failure = "Borrow limit reached";
+            } else if (onLoan.contains(book.getId())) {
+                if (reserved) {
+                    onLoanIndex.markOnLoan(book.getId()); // the index was stale
+                }
+                failure = "Book not available";
+            } else if (reserved && !onLoanIndex.tryMarkOnLoan(book.getId())) {
+                failure = "Book not available";
+            }
+            if (failure != null) {
+                results.add(new BatchBorrowResult(isbn, false, failure));
+                continue;
+            }
+            entityManager.lock(book, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+            lentBookIds.add(book.getId());
+            loans.add(newLoan(book, borrower));
+            availabilityChanged(book.getId(), false);
+            results.add(new BatchBorrowResult(isbn, true, null));
+        }
+        loanRepository.saveAll(loans);
+    }
+
+    // Locks the member's row until commit so concurrent borrows by one member are checked against each other's loans
+    private Member lockForBorrow(Member member) {
+        Member locked = entityManager.find(Member.class, member.getId(), LockModeType.PESSIMISTIC_WRITE);
+        if (locked == null) {
+            throw new RuntimeException("Member not found");
+        }
+        return locked;
+    }
+
+    private static Loan newLoan(Book book, Member member) {
         Loan loan = new Loan();
         loan.setBook(book);
         loan.setMember(member);
         loan.setLoanDate(new Date());
-        cal.setTime(new Date());
+        Calendar cal = Calendar.getInstance();
         cal.add(Calendar.DAY_OF_MONTH, 14);
         loan.setDueDate(cal.getTime());
         loan.setExtensions(0);
-        loanRepository.save(loan);
+        return loan;
+    }
+
+    // Reserved books are released if the transaction does not commit; unreserved ones are indexed once it does
+    private void syncOnLoanIndexAfterCompletion(List<Long> bookIds, boolean reserved) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED && reserved) {
+                    bookIds.forEach(onLoanIndex::markReturned);
+                } else if (status == STATUS_COMMITTED && !reserved) {
+                    bookIds.forEach(onLoanIndex::markOnLoan);
+                }
+            }
+        });
+    }
+
+    public MemberEligibility getEligibility(Member member) {
+        Date now = new Date();
+        return new MemberEligibility(member, loanRepository.summarizeOpenLoans(member.getId(), now), now);
+    }
+
+    public OnLoanIndexReport verifyOnLoanIndex() {
+        return onLoanIndex.verify();
     }
 
     public void renewLoan(Long loanId) {
+        Long memberId;
+        try {
+            memberId = extendLoan(loanId);
+        } catch (RuntimeException e) {
+            loanMetrics.rejected("renew", e.getMessage());
+            throw e;
+        }
+        loanMetrics.renewed();
+        versionStamps.loansChanged(memberId); // the catalog is unaffected by a renewal
+    }
+
+    // Returns the ID of the member whose loan was renewed
+    private Long extendLoan(Long loanId) {
         Member member = memberService.getCurrentMember();
         Loan loan = loanRepository.findById(loanId).orElseThrow(() -> new RuntimeException("Loan not found"));
-        if (!loan.getMember().equals(member)) {
+        if (!loan.getMember().getId().equals(member.getId())) {
             throw new RuntimeException("Not your loan");
         }
         if (loan.getReturnDate() != null) {
@@ -89,12 +303,26 @@ public class LoanService {
         loan.setDueDate(cal.getTime());
         loan.setExtensions(loan.getExtensions() + 1);
         loanRepository.save(loan);
+        return member.getId();
     }
 
     public void returnLoan(Long loanId) {
+        Long memberId;
+        try {
+            memberId = closeLoan(loanId);
+        } catch (RuntimeException e) {
+            loanMetrics.rejected("return", e.getMessage());
+            throw e;
+        }
+        loanMetrics.returned(1);
+        loansChanged(memberId);
+    }
+
+    // Returns the ID of the member whose loan was closed
+    private Long closeLoan(Long loanId) {
         Member member = memberService.getCurrentMember();
         Loan loan = loanRepository.findById(loanId).orElseThrow(() -> new RuntimeException("Loan not found"));
-        if (!loan.getMember().equals(member)) {
+        if (!loan.getMember().getId().equals(member.getId())) {
             throw new RuntimeException("Not your loan");
         }
         if (loan.getReturnDate() != null) {
@@ -102,18 +330,176 @@ public class LoanService {
         }
         Date now = new Date();
         loan.setReturnDate(now);
-        if (now.after(loan.getDueDate())) {
-            long diff = now.getTime() - loan.getDueDate().getTime();
-            long days = TimeUnit.DAYS.convert(diff, TimeUnit.MILLISECONDS);
-            loan.setFine(Math.min(20, 0.5 * days));
-        } else {
-            loan.setFine(0);
+        loan.setFine(computeFine(loan.getDueDate(), now));
+        transactionTemplate.executeWithoutResult(status -> {
+            loanRepository.save(loan);
+            availabilityChanged(loan.getBook().getId(), true);
+        });
+        onLoanIndex.markReturned(loan.getBook().getId());
+        return member.getId();
+    }
+
+    // Must be called inside the transaction; the availability stream only sees the event if it commits
+    private void availabilityChanged(Long bookId, boolean available) {
+        eventPublisher.publishEvent(new AvailabilityEvent(bookId, available));
+    }
+
+    // Advances the ETag stamps of the catalog and the member's loan list; call only after the change has committed
+    private void loansChanged(Long memberId) {
+        versionStamps.catalogChanged();
+        versionStamps.loansChanged(memberId);
+    }
+
+    /**
+     * Returns a morning book-drop in one go (staff only): one query loads every matching open loan,
+     * fines are computed in a single pass and the updates are flushed as one JDBC batch.
+     * @param loanIds Loan IDs to return, may be empty
+     * @param isbns ISBNs whose open loan should be returned, may be empty
+     * @return How many loans were returned, their total fine and the IDs/ISBNs that matched no open loan
+     */
+    public BulkReturnResult returnLoans(Collection<Long> loanIds, Collection<String> isbns) {
+        Set<Long> memberIds = new HashSet<>();
+        BulkReturnResult result = transactionTemplate.execute(status -> {
+            List<Loan> loans = loanRepository.findOpenLoansForReturn(loanIds, isbns);
+            Date now = new Date();
+            double totalFines = 0;
+            Set<Long> unmatchedLoanIds = new LinkedHashSet<>(loanIds);
+            Set<String> unmatchedIsbns = new LinkedHashSet<>(isbns);
+            List<Long> returnedBookIds = new ArrayList<>(loans.size());
+            for (Loan loan : loans) {
+                loan.setReturnDate(now);
+                loan.setFine(computeFine(loan.getDueDate(), now));
+                totalFines += loan.getFine();
+                unmatchedLoanIds.remove(loan.getId());
+                unmatchedIsbns.remove(loan.getBook().getIsbn());
+                returnedBookIds.add(loan.getBook().getId());
+                memberIds.add(loan.getMember().getId());
+                availabilityChanged(loan.getBook().getId(), true);
+            }
+            // Dirty loans are written as batched UPDATEs when the transaction flushes
+            return new BulkReturnResult(loans.size(), totalFines, returnedBookIds,
+                    new ArrayList<>(unmatchedLoanIds), new ArrayList<>(unmatchedIsbns));
+        });
+        result.getReturnedBookIds().forEach(onLoanIndex::markReturned);
+        memberIds.forEach(this::loansChanged);
+        loanMetrics.returned(result.getReturned());
+        return result;
+    }
+
+    /**
+     * Fine for a loan returned at the given time: 0.5 per full day overdue, capped at 20.
+     */
+    public static double computeFine(Date dueDate, Date returnedAt) {
+        if (!returnedAt.after(dueDate)) {
+            return 0;
         }
-        loanRepository.save(loan);
+        long days = TimeUnit.DAYS.convert(returnedAt.getTime() - dueDate.getTime(), TimeUnit.MILLISECONDS);
+        return Math.min(20, 0.5 * days);
+    }
+
+    public BookPage getAvailableBooks(int limit, String after, String sort) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        String[] cursor = decodeCursor(after, sort);
+        if (!onLoanIndex.isReady()) {
+            // Fetch one extra row to know whether another page exists
+            return toPage(findAvailable(sort, cursor, PageRequest.of(0, pageSize + 1)), pageSize, sort);
+        }
+        // Filter plain catalog pages against the on-loan index; no per-book loan lookups
+        List<Book> available = new ArrayList<>();
+        Pageable chunk = PageRequest.of(0, Math.max(pageSize + 1, SCAN_CHUNK_SIZE));
+        while (available.size() <= pageSize) {
+            List<Book> books = findCatalog(sort, cursor, chunk);
+            for (Book book : books) {
+                if (!onLoanIndex.isOnLoan(book.getId()) && available.size() <= pageSize) {
+                    available.add(book);
+                }
+            }
+            if (books.size() < chunk.getPageSize()) {
+                break;
+            }
+            Book last = books.get(books.size() - 1);
+            cursor = new String[] {sortKey(last, sort), String.valueOf(last.getId())};
+        }
+        return toPage(available, pageSize, sort);
+    }
+
+    private List<Book> findAvailable(String sort, String[] cursor, Pageable pageable) {
+        long afterId = Long.parseLong(cursor[1]);
+        return switch (sort) {
+            case "title" -> bookRepository.findAvailableAfterTitle(cursor[0], afterId, pageable);
+            case "author" -> bookRepository.findAvailableAfterAuthor(cursor[0], afterId, pageable);
+            default -> bookRepository.findAvailableAfterId(afterId, pageable);
+        };
     }
 
-    public List<Book> getAvailableBooks() {
-        List<Book> allBooks = bookRepository.findAll();
-        return allBooks.stream().filter(book -> loanRepository.findByBookIdAndReturnDateIsNull(book.getId()).isEmpty()).toList();
+    private List<Book> findCatalog(String sort, String[] cursor, Pageable pageable) {
+        long afterId = Long.parseLong(cursor[1]);
+        return switch (sort) {
+            case "title" -> bookRepository.findCatalogAfterTitle(cursor[0], afterId, pageable);
+            case "author" -> bookRepository.findCatalogAfterAuthor(cursor[0], afterId, pageable);
+            default -> bookRepository.findCatalogAfterId(afterId, pageable);
+        };
+    }
+
+    private static BookPage toPage(List<Book> books, int pageSize, String sort) {
+        if (books.size() <= pageSize) {
+            return new BookPage(books, null);
+        }
+        List<Book> page = books.subList(0, pageSize);
+        Book last = page.get(pageSize - 1);
+        String nextCursor = "id".equals(sort) ? String.valueOf(last.getId()) : encodeCursor(sortKey(last, sort), last.getId());
+        return new BookPage(page, nextCursor);
+    }
+
+    private static String sortKey(Book book, String sort) {
+        return switch (sort) {
+            case "title" -> book.getTitle();
+            case "author" -> book.getAuthor();
+            default -> "";
+        };
+    }
+
+    // Title/author cursors carry the sort key and the id tie-breaker of the last row
+    private static String encodeCursor(String key, Long id) {
+        String raw = key + "\n" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns {sortKey, afterId}; id-sorted cursors are the plain id of the last row
+    private static String[] decodeCursor(String cursor, String sort) {
+        if (!SORTS.contains(sort)) {
+            throw new InvalidPageRequestException("Unsupported sort: " + sort);
+        }
+        if (cursor == null) {
+            return new String[] {"", "0"};
+        }
+        if ("id".equals(sort)) {
+            return new String[] {"", String.valueOf(parseCursorNumber(cursor))};
+        }
+        String[] split = splitCursor(cursor);
+        parseCursorNumber(split[1]);
+        return split;
+    }
+
+    private static String[] splitCursor(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPageRequestException("Invalid cursor");
+        }
+        int split = raw.lastIndexOf('\n');
+        if (split < 0) {
+            throw new InvalidPageRequestException("Invalid cursor");
+        }
+        return new String[] {raw.substring(0, split), raw.substring(split + 1)};
+    }
+
+    private static long parseCursorNumber(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new InvalidPageRequestException("Invalid cursor");
+        }
     }
 }
@@ -0,0 +1,45 @@
+package com.example.lms.service;
+
+import com.example.lms.cache.ExpiringCache;
+import com.example.lms.entity.Member;
+import com.example.lms.repository.MemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded, TTL-based cache of Member rows by ID, so authenticated requests do not reload the member each time.
+ * MemberServiceImpl invalidates entries when a member is updated or deleted; the TTL bounds staleness otherwise.
+ */
+@Component
+public class MemberCache {
+
+    private final MemberRepository memberRepository;
+    private final ExpiringCache<Long, Member> members;
+    private final long ttlMillis;
+
+    public MemberCache(MemberRepository memberRepository,
+                       @Value("${lms.member-cache.size:10000}") int size,
+                       @Value("${lms.member-cache.ttl:PT5M}") Duration ttl) {
+        this.memberRepository = memberRepository;
+        this.members = new ExpiringCache<>(size);
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /**
+     * @return the member with this ID, from the cache or loaded from the database
+     */
+    public Member get(Long id) {
+        Member member = members.get(id);
+        if (member == null) {
+            member = memberRepository.findById(id).orElseThrow(() -> new RuntimeException("Member not found with id: " + id));
+            members.put(id, member, System.currentTimeMillis() + ttlMillis);
+        }
+        return member;
+    }
+
+    public void invalidate(Long id) {
+        members.invalidate(id);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.lms.service;
+
+import com.example.lms.entity.Member;
+import com.example.lms.repository.MemberLoanSummary;
+
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * Snapshot of the borrowing rules for one member: membership validity, open loans and overdue loans.
+ * Built from a single aggregate query so borrow checks do not load the member's loan history.
+ */
+public class MemberEligibility {
+
+    public static final int MAX_ACTIVE_LOANS = 3;
+
+    private final boolean membershipValid;
+    private final long activeLoans;
+    private final long overdueLoans;
+
+    public MemberEligibility(Member member, MemberLoanSummary summary, Date now) {
+        // Membership is valid for 1 year from registration
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(member.getRegistrationDate());
+        cal.add(Calendar.YEAR, 1);
+        this.membershipValid = !cal.getTime().before(now);
+        this.activeLoans = summary.getActiveLoans();
+        this.overdueLoans = summary.getOverdueLoans();
+    }
+
+    public boolean isMembershipValid() {
+        return membershipValid;
+    }
+
+    public long getActiveLoans() {
+        return activeLoans;
+    }
+
+    public boolean hasOverdue() {
+        return overdueLoans > 0;
+    }
+
+    public int remainingLoanSlots() {
+        return (int) Math.max(0, MAX_ACTIVE_LOANS - activeLoans);
+    }
+
+    public void requireCanBorrow() {
+        if (!membershipValid) {
+            throw new RuntimeException("Membership expired");
+        }
+        if (activeLoans >= MAX_ACTIVE_LOANS) {
+            throw new RuntimeException("Borrow limit reached");
+        }
+        if (hasOverdue()) {
+            throw new RuntimeException("Has overdue books");
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.lms.service;
+
+import com.example.lms.entity.Member;
+import com.example.lms.repository.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process trigram index over member name, username and email for case-insensitive substring search.
+ * A query's trigrams narrow the candidates through posting-list intersection; candidates are then confirmed
+ * with a substring check, so results are exact. Updated through {@link MemberSearchIndexListener}.
+ */
+@Component
+public class MemberSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberSearchIndex.class);
+    private static final int LOAD_CHUNK_SIZE = 1000;
+    // Keeps a substring from matching across two fields
+    private static final char FIELD_SEPARATOR = '\u0000';
+
+    private final MemberRepository memberRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, IntPostingList> trigrams = new HashMap<>();
+    private final Map<Integer, String> documents = new HashMap<>();
+    // Every indexed ID in ascending order, walked by queries too short to have a trigram
+    private final IntPostingList allIds = new IntPostingList();
+
+    public MemberSearchIndex(MemberRepository memberRepository) {
+        this.memberRepository = memberRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long afterId = 0;
+        List<Member> chunk;
+        do {
+            chunk = memberRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            chunk.forEach(this::put);
+            if (!chunk.isEmpty()) {
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+        log.info("Member search index built with {} members and {} trigrams", documents.size(), trigrams.size());
+    }
+
+    public void put(Member member) {
+        int id = Math.toIntExact(member.getId());
+        String text = normalize(member.getName()) + FIELD_SEPARATOR + normalize(member.getUsername())
+                + FIELD_SEPARATOR + normalize(member.getEmail());
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            documents.put(id, text);
+            allIds.add(id);
+            for (String trigram : trigramsOf(text)) {
+                trigrams.computeIfAbsent(trigram, t -> new IntPostingList()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long memberId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(Math.toIntExact(memberId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(int id) {
+        String previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        allIds.remove(id);
+        for (String trigram : trigramsOf(previous)) {
+            IntPostingList postings = trigrams.get(trigram);
+            if (postings != null) {
+                postings.remove(id);
+                if (postings.isEmpty()) {
+                    trigrams.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds members whose name, username or email contains the query, in ascending ID order.
+     * @param query The substring to look for (case-insensitive)
+     * @param offset Number of matches to skip
+     * @param limit Maximum number of IDs to return
+     * @return Matching member IDs
+     */
+    public List<Long> search(String query, int offset, int limit) {
+        String needle = normalize(query);
+        if (needle.isEmpty()) {
+            return List.of();
+        }
+        List<Long> matches = new ArrayList<>(limit);
+        int skipped = 0;
+        lock.readLock().lock();
+        try {
+            // Too short for a trigram: walk the documents in ID order, stopping as soon as the page is full
+            boolean shortQuery = needle.length() < 3;
+            int[] candidates = null;
+            if (!shortQuery) {
+                for (String trigram : trigramsOf(needle)) {
+                    IntPostingList postings = trigrams.get(trigram);
+                    if (postings == null) {
+                        return List.of();
+                    }
+                    candidates = candidates == null ? postings.toArray() : postings.retainAll(candidates);
+                }
+            }
+            int count = shortQuery ? allIds.size() : candidates.length;
+            for (int i = 0; i < count; i++) {
+                int id = shortQuery ? allIds.get(i) : candidates[i];
+                if (!documents.get(id).contains(needle)) {
+                    continue;
+                }
+                if (skipped++ < offset) {
+                    continue;
+                }
+                matches.add((long) id);
+                if (matches.size() == limit) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            String trigram = text.substring(i, i + 3);
+            if (trigram.indexOf(FIELD_SEPARATOR) < 0) {
+                result.add(trigram);
+            }
+        }
+        return result;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.lms.service;
+
+import com.example.lms.entity.Member;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that keeps {@link MemberSearchIndex} in step with member inserts, updates and deletes.
+ */
+@Component
+public class MemberSearchIndexListener {
+
+    private final MemberSearchIndex memberSearchIndex;
+
+    public MemberSearchIndexListener(@Lazy MemberSearchIndex memberSearchIndex) {
+        this.memberSearchIndex = memberSearchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Member member) {
+        afterCommit(() -> memberSearchIndex.put(member));
+    }
+
+    @PostRemove
+    public void onRemove(Member member) {
+        Long id = member.getId();
+        afterCommit(() -> memberSearchIndex.remove(id));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
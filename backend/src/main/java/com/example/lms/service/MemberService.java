@@ -1,6 +1,10 @@
 package com.example.lms.service;
 
+import com.example.lms.dto.MemberPage;
 import com.example.lms.entity.Member;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +20,33 @@ public interface MemberService {
      */
     List<Member> getAllMembers();
 
+    /**
+     * Retrieves one page of members in ID order using seek pagination.
+     * @param afterId ID of the last member of the previous page, or null for the first page
+     * @param limit Maximum number of members to return
+     * @return The page and the cursor for the next one
+     */
+    MemberPage getMembersPage(Long afterId, int limit);
+
+    /**
+     * Streams every member to the output as NDJSON or CSV, one row at a time.
+     * @param format "ndjson" or "csv"
+     * @param out The response stream to write to
+     */
+    void exportMembers(String format, OutputStream out) throws IOException;
+
+    /**
+     * Retrieves the member making the current request.
+     * @return The authenticated member
+     */
+    Member getCurrentMember();
+
+    /**
+     * Retrieves the ID of the member making the current request, straight from the token claims.
+     * @return The authenticated member's ID
+     */
+    Long getCurrentMemberId();
+
     /**
      * Retrieves a member by their ID.
      * @param id The ID of the member to find
@@ -45,9 +76,11 @@ public interface MemberService {
     void deleteMember(Long id);
 
     /**
-     * Searches for members by name.
-     * @param name The name to search for (partial match)
-     * @return List of members matching the name
+     * Searches for members by name, username or email.
+     * @param name The text to search for (partial match)
+     * @param page Zero-based page number
+     * @param size Maximum number of members to return
+     * @return The requested page of matching members, ordered by ID
      */
-    List<Member> searchMembersByName(String name);
+    List<Member> searchMembersByName(String name, int page, int size);
 }
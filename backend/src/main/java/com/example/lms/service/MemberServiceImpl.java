@@ -1,13 +1,38 @@
 package com.example.lms.service;
 
+import com.example.lms.dto.MemberPage;
 import com.example.lms.entity.Member;
 import com.example.lms.repository.MemberRepository;
+import com.example.lms.repository.RefreshTokenRepository;
+import com.example.lms.security.AuthenticatedMember;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the MemberService interface.
@@ -16,9 +41,30 @@ import java.util.Optional;
 @Service
 public class MemberServiceImpl implements MemberService {
 
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private MemberRepository memberRepository; // Injects the MemberRepository to perform database operations
 
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository; // A member's refresh tokens go with the member
+
+    @Autowired
+    private MemberSearchIndex memberSearchIndex; // In-memory substring index used by searchMembersByName
+
+    @Autowired
+    private MemberCache memberCache; // TTL cache behind getCurrentMember, invalidated on update and delete
+
+    @Autowired
+    private EntityManager entityManager; // Used to detach exported rows from the persistence context
+
+    @Autowired
+    private ObjectMapper objectMapper; // Writes NDJSON export rows
+
+    @Value("${lms.members.export-fetch-size:1000}")
+    private int exportFetchSize; // Driver fetch size for the export cursor, set on that query alone
+
     /**
      * Retrieves all members from the database.
      * @return List of all members
@@ -28,6 +74,125 @@ public class MemberServiceImpl implements MemberService {
         return memberRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of members in ID order using seek pagination.
+     * Each page is an index range scan on the primary key, however deep the client has paged.
+     * @param afterId ID of the last member of the previous page, or null for the first page
+     * @param limit Maximum number of members to return (capped at 500)
+     * @return The page and the cursor for the next one
+     */
+    @Override
+    public MemberPage getMembersPage(Long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists
+        List<Member> members = memberRepository.findByIdGreaterThanOrderByIdAsc(afterId == null ? 0L : afterId,
+                PageRequest.of(0, pageSize + 1));
+        if (members.size() <= pageSize) {
+            return new MemberPage(members, null);
+        }
+        List<Member> page = members.subList(0, pageSize);
+        return new MemberPage(page, page.get(pageSize - 1).getId());
+    }
+
+    /**
+     * Streams every member to the output as NDJSON or CSV.
+     * Rows come from a forward-only cursor and are detached once written, so memory stays flat.
+     * Passwords are never exported.
+     * @param format "ndjson" or "csv"
+     * @param out The response stream to write to
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportMembers(String format, OutputStream out) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        if (!csv && !"ndjson".equalsIgnoreCase(format)) {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonGenerator json = csv ? null : objectMapper.getFactory().createGenerator(writer);
+        if (json != null) {
+            // NDJSON: one object per line
+            json.setRootValueSeparator(new SerializedString("\n"));
+        }
+        if (csv) {
+            writer.write("id,name,username,email,registrationDate,role\n");
+        }
+        try (Stream<Member> members = entityManager.createQuery("SELECT m FROM Member m ORDER BY m.id", Member.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            Iterator<Member> it = members.iterator();
+            while (it.hasNext()) {
+                Member member = it.next();
+                String registered = member.getRegistrationDate() == null ? null : member.getRegistrationDate().toInstant().toString();
+                if (csv) {
+                    writer.write(member.getId() + "," + csvField(member.getName()) + "," + csvField(member.getUsername()) + ","
+                            + csvField(member.getEmail()) + "," + csvField(registered) + "," + csvField(member.getRole()) + "\n");
+                } else {
+                    json.writeStartObject();
+                    json.writeNumberField("id", member.getId());
+                    json.writeStringField("name", member.getName());
+                    json.writeStringField("username", member.getUsername());
+                    json.writeStringField("email", member.getEmail());
+                    json.writeStringField("registrationDate", registered);
+                    json.writeStringField("role", member.getRole());
+                    json.writeEndObject();
+                }
+                entityManager.detach(member);
+            }
+        }
+        if (json != null) {
+            json.writeRaw('\n');
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Retrieves the member making the current request.
+     * The JWT principal carries the member ID, so this is a cache lookup rather than a query per request.
+     * @return The authenticated member
+     */
+    @Override
+    public Member getCurrentMember() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = authentication == null ? null : authentication.getPrincipal();
+        if (principal instanceof AuthenticatedMember authenticated) {
+            return memberCache.get(authenticated.getMemberId());
+        }
+        if (principal instanceof Member member) {
+            return member;
+        }
+        throw new RuntimeException("Not authenticated");
+    }
+
+    /**
+     * Retrieves the ID of the member making the current request without loading the member.
+     * @return The authenticated member's ID
+     */
+    @Override
+    public Long getCurrentMemberId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Object principal = authentication == null ? null : authentication.getPrincipal();
+        if (principal instanceof AuthenticatedMember authenticated) {
+            return authenticated.getMemberId();
+        }
+        if (principal instanceof Member member) {
+            return member.getId();
+        }
+        throw new RuntimeException("Not authenticated");
+    }
+
     /**
      * Retrieves a member by their ID.
      * @param id The ID of the member to find
@@ -40,7 +205,7 @@ public class MemberServiceImpl implements MemberService {
 
     /**
      * Adds a new member to the database.
-     * Sets membership expiry date to 1 year from registration date.
+     * Membership runs for 1 year from the registration date (see MemberEligibility).
      * @param member The member to add
      * @return The saved member
      */
@@ -48,10 +213,8 @@ public class MemberServiceImpl implements MemberService {
     public Member addMember(Member member) {
         // Set registration date to today if not provided
         if (member.getRegistrationDate() == null) {
-            member.setRegistrationDate(LocalDate.now());
+            member.setRegistrationDate(new Date());
         }
-        // Set membership expiry date to 1 year from registration date
-        member.setMembershipExpiryDate(member.getRegistrationDate().plusYears(1));
         return memberRepository.save(member);
     }
 
@@ -69,16 +232,16 @@ public class MemberServiceImpl implements MemberService {
 
         // Update the fields with the new details
         existingMember.setName(memberDetails.getName());
-        existingMember.setAddress(memberDetails.getAddress());
-        existingMember.setContactInfo(memberDetails.getContactInfo());
-        // Do not update registrationDate or membershipExpiryDate to maintain consistency
+        existingMember.setEmail(memberDetails.getEmail());
+        // Only move the registration date (and so the membership year) when one is given
         if (memberDetails.getRegistrationDate() != null) {
             existingMember.setRegistrationDate(memberDetails.getRegistrationDate());
-            existingMember.setMembershipExpiryDate(memberDetails.getRegistrationDate().plusYears(1));
         }
 
         // Save the updated member back to the database
-        return memberRepository.save(existingMember);
+        Member saved = memberRepository.save(existingMember);
+        memberCache.invalidate(id);
+        return saved;
     }
 
     /**
@@ -86,25 +249,35 @@ public class MemberServiceImpl implements MemberService {
      * @param id The ID of the member to delete
      */
     @Override
+    @Transactional
     public void deleteMember(Long id) {
         // Check if the member exists before deleting
         if (!memberRepository.existsById(id)) {
             throw new RuntimeException("Member not found with id: " + id);
         }
+        refreshTokenRepository.deleteAllForMember(id);
         memberRepository.deleteById(id);
+        memberCache.invalidate(id);
     }
 
     /**
-     * Searches for members by name (case-insensitive partial match).
-     * @param name The name to search for (partial match)
-     * @return List of members matching the name
+     * Searches for members by name, username or email (case-insensitive partial match).
+     * Matching IDs come from the in-memory trigram index; only the requested page is loaded from the database.
+     * @param name The text to search for (partial match)
+     * @param page Zero-based page number
+     * @param size Maximum number of members to return (capped at 100)
+     * @return The requested page of matching members, ordered by ID
      */
     @Override
-    public List<Member> searchMembersByName(String name) {
-        // This is a placeholder. For a real implementation, you would need a custom query method in MemberRepository.
-        // For now, we'll simulate a simple filter (case-insensitive).
-        return memberRepository.findAll().stream()
-                .filter(member -> member.getName().toLowerCase().contains(name.toLowerCase()))
-                .toList();
+    public List<Member> searchMembersByName(String name, int page, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_SEARCH_RESULTS));
+        List<Long> ids = memberSearchIndex.search(name, Math.max(0, page) * limit, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Keep the index order, findAllById does not guarantee one
+        Map<Long, Member> byId = memberRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Member::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 }
\ No newline at end of file
@@ -0,0 +1,146 @@
+package com.example.lms.service;
+
+import com.example.lms.dto.OnLoanIndexReport;
+import com.example.lms.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Process-local set of the book IDs that currently have an open loan.
+ * Book IDs are dense identity values, so a BitSet keeps 200k titles in ~25 KB.
+ * Built from the loan table at startup and kept current by LoanService.
+ */
+@Component
+public class OnLoanIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(OnLoanIndex.class);
+
+    private final LoanRepository loanRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private BitSet onLoan = new BitSet();
+    private volatile boolean ready;
+    // Changes made while a rebuild is reading the database, replayed onto the new bitset
+    private List<long[]> pendingChanges;
+
+    public OnLoanIndex(LoanRepository loanRepository) {
+        this.loanRepository = loanRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        List<Long> activeBookIds = loanRepository.findActiveBookIds();
+        BitSet fresh = new BitSet();
+        activeBookIds.forEach(id -> fresh.set(Math.toIntExact(id)));
+        lock.writeLock().lock();
+        try {
+            for (long[] change : pendingChanges) {
+                fresh.set(Math.toIntExact(change[0]), change[1] == 1);
+            }
+            pendingChanges = null;
+            onLoan = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("On-loan index built with {} active loans", activeBookIds.size());
+    }
+
+    /**
+     * @return true once the index has been loaded and can answer without the database
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean isOnLoan(long bookId) {
+        lock.readLock().lock();
+        try {
+            return onLoan.get(Math.toIntExact(bookId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void markOnLoan(long bookId) {
+        set(bookId, true);
+    }
+
+    /**
+     * Atomically marks a book as on loan if it is not already.
+     * Used as a per-book reservation so concurrent borrows of the same copy never both proceed.
+     * @return true if this caller reserved the book, false if it was already on loan
+     */
+    public boolean tryMarkOnLoan(long bookId) {
+        lock.writeLock().lock();
+        try {
+            if (onLoan.get(Math.toIntExact(bookId))) {
+                return false;
+            }
+            set(bookId, true);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void markReturned(long bookId) {
+        set(bookId, false);
+    }
+
+    private void set(long bookId, boolean value) {
+        lock.writeLock().lock();
+        try {
+            onLoan.set(Math.toIntExact(bookId), value);
+            if (pendingChanges != null) {
+                pendingChanges.add(new long[] {bookId, value ? 1 : 0});
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the book IDs currently marked as on loan, in ascending order
+     */
+    public List<Long> snapshot() {
+        lock.readLock().lock();
+        try {
+            return onLoan.stream().mapToObj(Long::valueOf).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compares the index with the loan table.
+     * @return the indexed and database counts plus the book IDs on which they disagree
+     */
+    public OnLoanIndexReport verify() {
+        Collection<Long> indexed = snapshot();
+        BitSet database = new BitSet();
+        loanRepository.findActiveBookIds().forEach(id -> database.set(Math.toIntExact(id)));
+        List<Long> missingFromIndex = new ArrayList<>();
+        List<Long> staleInIndex = new ArrayList<>();
+        BitSet indexedBits = new BitSet();
+        indexed.forEach(id -> indexedBits.set(Math.toIntExact(id)));
+        database.stream().filter(id -> !indexedBits.get(id)).forEach(id -> missingFromIndex.add((long) id));
+        indexedBits.stream().filter(id -> !database.get(id)).forEach(id -> staleInIndex.add((long) id));
+        return new OnLoanIndexReport(indexed.size(), database.cardinality(), missingFromIndex, staleInIndex);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.lms.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Process-local version counters behind the ETags of GET /api/books/available and GET /api/loans/my.
+ * The catalog has one counter; member loan sets share striped counters, so a change to one member may also
+ * invalidate the tags of others in the same stripe but never leaves a tag valid after its data changed.
+ * Writers advance a stamp only after their transaction commits and readers take the tag before querying,
+ * so a tag is never attached to data older than it. The random epoch invalidates every tag on restart and
+ * keeps tags from different instances apart.
+ */
+@Component
+public class VersionStamps {
+
+    private static final int MEMBER_STRIPES = 1024; // power of two
+
+    private final String epoch = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong catalog = new AtomicLong();
+    private final AtomicLongArray members = new AtomicLongArray(MEMBER_STRIPES);
+
+    /**
+     * @return The ETag for the available-books listing; page, cursor and sort are part of the URL
+     */
+    public String catalogETag() {
+        return "\"c-" + epoch + "-" + catalog.get() + "\"";
+    }
+
+    /**
+     * @return The ETag for a member's loan list; the member id is part of it because the URL is shared
+     */
+    public String loansETag(long memberId) {
+        return "\"m" + memberId + "-" + epoch + "-" + members.get(stripe(memberId)) + "\"";
+    }
+
+    public void catalogChanged() {
+        catalog.incrementAndGet();
+    }
+
+    public void loansChanged(long memberId) {
+        members.incrementAndGet(stripe(memberId));
+    }
+
+    // For bulk changes whose members are not known, such as archiving
+    public void allLoansChanged() {
+        for (int i = 0; i < MEMBER_STRIPES; i++) {
+            members.incrementAndGet(i);
+        }
+    }
+
+    private static int stripe(long memberId) {
+        return Long.hashCode(memberId) & (MEMBER_STRIPES - 1);
+    }
+}
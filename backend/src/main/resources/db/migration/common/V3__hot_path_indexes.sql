@@ -0,0 +1,15 @@
+-- Indexes for the repository queries on the request path (portable between MySQL and H2).
+
+-- Every login and every refresh-token exchange looks members up by username; usernames are unique
+CREATE UNIQUE INDEX uk_member_username ON member (username);
+
+-- "Is this book on loan?": findByBookIdAndReturnDateIsNull, findActiveBookIdsIn and the anti-join of
+-- the available-books listing probe (book_id, return_date) instead of the bare foreign-key index
+CREATE INDEX idx_loan_book_open ON loan (book_id, return_date);
+
+-- Keyset pages of the catalog sorted by title or author: (key, id) matches the ORDER BY and the seek predicate
+CREATE INDEX idx_book_title ON book (title, id);
+CREATE INDEX idx_book_author ON book (author, id);
+
+-- revokeAllForMember on refresh-token reuse
+CREATE INDEX idx_refresh_token_member ON refresh_token (member_id, revoked);
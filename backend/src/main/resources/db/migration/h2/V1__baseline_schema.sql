@@ -0,0 +1,35 @@
+-- Baseline for the embedded H2 database (MySQL mode) used by the it and loadtest profiles.
+
+CREATE TABLE member (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    username VARCHAR(255),
+    email VARCHAR(255),
+    password VARCHAR(255),
+    registration_date TIMESTAMP(6),
+    role VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE book (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255),
+    author VARCHAR(255),
+    isbn VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_book_isbn UNIQUE (isbn)
+);
+
+CREATE TABLE loan (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    book_id BIGINT,
+    member_id BIGINT,
+    loan_date TIMESTAMP(6),
+    due_date TIMESTAMP(6),
+    return_date TIMESTAMP(6),
+    fine DOUBLE NOT NULL,
+    extensions INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_loan_book FOREIGN KEY (book_id) REFERENCES book (id),
+    CONSTRAINT fk_loan_member FOREIGN KEY (member_id) REFERENCES member (id)
+);
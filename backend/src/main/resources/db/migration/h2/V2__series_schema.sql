@@ -0,0 +1,68 @@
+-- Columns and tables added on top of the baseline: optimistic locking on book, pooled loan ids,
+-- refresh tokens and the fine ledger with its batch checkpoints.
+
+ALTER TABLE book ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE loan ALTER COLUMN id DROP IDENTITY;
+
+CREATE INDEX idx_loan_member_open ON loan (member_id, return_date, due_date);
+CREATE INDEX idx_loan_open_due ON loan (return_date, due_date);
+
+CREATE SEQUENCE loan_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE refresh_token (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    member_id BIGINT,
+    token_hash VARCHAR(64) NOT NULL,
+    created_at TIMESTAMP(6),
+    expires_at TIMESTAMP(6),
+    revoked BOOLEAN NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_token_member FOREIGN KEY (member_id) REFERENCES member (id)
+);
+
+CREATE TABLE loan_fine_accrual (
+    loan_id BIGINT NOT NULL,
+    member_id BIGINT NOT NULL,
+    accrued DOUBLE NOT NULL,
+    settled BOOLEAN NOT NULL,
+    updated_at TIMESTAMP(6),
+    version BIGINT,
+    PRIMARY KEY (loan_id)
+);
+
+CREATE INDEX idx_fine_accrual_member_open ON loan_fine_accrual (member_id, settled);
+
+CREATE TABLE fine_ledger (
+    id BIGINT NOT NULL,
+    member_id BIGINT NOT NULL,
+    loan_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    amount DOUBLE NOT NULL,
+    created_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_fine_ledger_member ON fine_ledger (member_id, id);
+
+CREATE SEQUENCE fine_ledger_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE member_fine_balance (
+    member_id BIGINT NOT NULL,
+    balance DOUBLE NOT NULL,
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (member_id)
+);
+
+CREATE TABLE batch_checkpoint (
+    job_name VARCHAR(64) NOT NULL,
+    run_started_at TIMESTAMP(6),
+    window_start TIMESTAMP(6),
+    cursor_date TIMESTAMP(6),
+    cursor_id BIGINT,
+    completed BOOLEAN NOT NULL,
+    updated_at TIMESTAMP(6),
+    version BIGINT,
+    PRIMARY KEY (job_name)
+);
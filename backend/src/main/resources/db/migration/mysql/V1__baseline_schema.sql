@@ -0,0 +1,36 @@
+-- Baseline: the original member/book/loan schema as Hibernate's ddl-auto=update created it on MySQL 8.
+-- Databases that already have it are baselined at version 1 (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE member (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    username VARCHAR(255),
+    email VARCHAR(255),
+    password VARCHAR(255),
+    registration_date DATETIME(6),
+    role VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE book (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255),
+    author VARCHAR(255),
+    isbn VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_book_isbn UNIQUE (isbn)
+) ENGINE=InnoDB;
+
+CREATE TABLE loan (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    book_id BIGINT,
+    member_id BIGINT,
+    loan_date DATETIME(6),
+    due_date DATETIME(6),
+    return_date DATETIME(6),
+    fine DOUBLE NOT NULL,
+    extensions INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_loan_book FOREIGN KEY (book_id) REFERENCES book (id),
+    CONSTRAINT fk_loan_member FOREIGN KEY (member_id) REFERENCES member (id)
+) ENGINE=InnoDB;
@@ -0,0 +1,78 @@
+-- Columns and tables added on top of the baseline: optimistic locking on book, pooled loan ids,
+-- refresh tokens and the fine ledger with its batch checkpoints.
+
+ALTER TABLE book ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- Loan ids come from loan_seq from now on; existing rows keep their AUTO_INCREMENT ids
+ALTER TABLE loan MODIFY id BIGINT NOT NULL;
+
+CREATE INDEX idx_loan_member_open ON loan (member_id, return_date, due_date);
+CREATE INDEX idx_loan_open_due ON loan (return_date, due_date);
+
+-- MySQL has no sequences; Hibernate emulates loan_seq and fine_ledger_seq with single-row tables
+CREATE TABLE loan_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+-- Hibernate's pooled optimizer hands out the allocationSize (50) ids ending at the value it reads, so
+-- seeding MAX(id) + 50 makes the first new loan MAX(id) + 1 and keeps clear of the existing rows
+INSERT INTO loan_seq SELECT COALESCE(MAX(id), 0) + 50 FROM loan;
+
+CREATE TABLE refresh_token (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    member_id BIGINT,
+    token_hash VARCHAR(64) NOT NULL,
+    created_at DATETIME(6),
+    expires_at DATETIME(6),
+    revoked BIT(1) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_refresh_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_token_member FOREIGN KEY (member_id) REFERENCES member (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE loan_fine_accrual (
+    loan_id BIGINT NOT NULL,
+    member_id BIGINT NOT NULL,
+    accrued DOUBLE NOT NULL,
+    settled BIT(1) NOT NULL,
+    updated_at DATETIME(6),
+    version BIGINT,
+    PRIMARY KEY (loan_id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_fine_accrual_member_open ON loan_fine_accrual (member_id, settled);
+
+CREATE TABLE fine_ledger (
+    id BIGINT NOT NULL,
+    member_id BIGINT NOT NULL,
+    loan_id BIGINT NOT NULL,
+    type VARCHAR(16) NOT NULL,
+    amount DOUBLE NOT NULL,
+    created_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_fine_ledger_member ON fine_ledger (member_id, id);
+
+CREATE TABLE fine_ledger_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+INSERT INTO fine_ledger_seq VALUES (1);
+
+CREATE TABLE member_fine_balance (
+    member_id BIGINT NOT NULL,
+    balance DOUBLE NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (member_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE batch_checkpoint (
+    job_name VARCHAR(64) NOT NULL,
+    run_started_at DATETIME(6),
+    window_start DATETIME(6),
+    cursor_date DATETIME(6),
+    cursor_id BIGINT,
+    completed BIT(1) NOT NULL,
+    updated_at DATETIME(6),
+    version BIGINT,
+    PRIMARY KEY (job_name)
+) ENGINE=InnoDB;
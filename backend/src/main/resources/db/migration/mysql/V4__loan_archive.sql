@@ -0,0 +1,17 @@
+-- Returned loans older than lms.loans.archive-after are moved here by LoanArchiver, keeping loan small
+CREATE TABLE loan_archive (
+    id BIGINT NOT NULL,
+    book_id BIGINT,
+    member_id BIGINT,
+    loan_date DATETIME(6),
+    due_date DATETIME(6),
+    return_date DATETIME(6),
+    fine DOUBLE NOT NULL,
+    extensions INTEGER NOT NULL,
+    archived_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_loan_archive_book FOREIGN KEY (book_id) REFERENCES book (id),
+    CONSTRAINT fk_loan_archive_member FOREIGN KEY (member_id) REFERENCES member (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_loan_archive_member ON loan_archive (member_id, return_date, id);
@@ -0,0 +1,67 @@
+package com.example.lms;
+
+import com.example.lms.entity.Book;
+import com.example.lms.entity.Member;
+import com.example.lms.repository.MemberRepository;
+import com.example.lms.security.AuthenticatedMember;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Date;
+
+/**
+ * Members and books for tests, and running code as a signed-in member. Usernames, emails and ISBNs must be
+ * unique per test class because the "it" H2 database is shared by every test context.
+ */
+public final class TestData {
+
+    private TestData() {
+    }
+
+    /**
+     * @return An unsaved member with every required field set; the password is never checked by these tests
+     */
+    public static Member member(String username, String role) {
+        Member member = new Member();
+        member.setName(username);
+        member.setUsername(username);
+        member.setEmail(username + "@example.com");
+        member.setPassword("not-used");
+        member.setRole(role);
+        member.setRegistrationDate(new Date());
+        return member;
+    }
+
+    /**
+     * @return The member with this username, saved first if this test context has not created it yet
+     */
+    public static Member savedMember(MemberRepository memberRepository, String username, String role) {
+        return memberRepository.findByUsername(username)
+                .orElseGet(() -> memberRepository.save(member(username, role)));
+    }
+
+    /**
+     * @return An unsaved book
+     */
+    public static Book book(String isbn, String title, String author) {
+        Book book = new Book();
+        book.setIsbn(isbn);
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+
+    /**
+     * Runs the action with the member as the authenticated principal on this thread, as the JWT filter would.
+     */
+    public static void runAs(Member member, Runnable action) {
+        AuthenticatedMember principal = new AuthenticatedMember(member.getId(), member.getUsername(), member.getRole());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        try {
+            action.run();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.lms.controller;
+
+import com.example.lms.repository.MemberRepository;
+import com.example.lms.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.example.lms.TestData.savedMember;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Staff-only endpoints must turn members away; a regression here means the @PreAuthorize checks are inert.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class AdminEndpointSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String memberBearer;
+    private String adminBearer;
+
+    @BeforeEach
+    void tokens() {
+        memberBearer = "Bearer " + jwtService.generateToken(savedMember(memberRepository, "security-member", "MEMBER"));
+        adminBearer = "Bearer " + jwtService.generateToken(savedMember(memberRepository, "security-admin", "ADMIN"));
+    }
+
+    @Test
+    void memberIsForbiddenFromStaffEndpoints() throws Exception {
+        mockMvc.perform(post("/api/loans/return/batch").header("Authorization", memberBearer)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"loanIds\":[],\"isbns\":[]}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/loans/fines/accrue").header("Authorization", memberBearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/loans/archive").header("Authorization", memberBearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/books/available/consistency").header("Authorization", memberBearer))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/members/export").header("Authorization", memberBearer))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminExportsMembers() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/members/export").param("format", "csv")
+                        .header("Authorization", adminBearer))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(",security-admin,")));
+    }
+
+    @Test
+    void unknownExportFormatIsRejectedBeforeStreaming() throws Exception {
+        mockMvc.perform(get("/api/members/export").param("format", "xml").header("Authorization", adminBearer))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void adminReachesStaffAndMemberEndpoints() throws Exception {
+        mockMvc.perform(get("/api/books/available/consistency").header("Authorization", adminBearer))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/loans/my").header("Authorization", adminBearer))
+                .andExpect(status().isOk());
+    }
+}
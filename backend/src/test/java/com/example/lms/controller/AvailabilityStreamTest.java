@@ -0,0 +1,123 @@
+package com.example.lms.controller;
+
+import com.example.lms.TestData;
+import com.example.lms.entity.Book;
+import com.example.lms.entity.Member;
+import com.example.lms.repository.BookRepository;
+import com.example.lms.repository.LoanRepository;
+import com.example.lms.repository.MemberRepository;
+import com.example.lms.service.LoanService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.example.lms.TestData.runAs;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The availability stream is opened by a browser EventSource, which sends no Authorization header, and only
+ * carries changes whose loan transaction committed.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class AvailabilityStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void opensWithoutBearerToken() throws Exception {
+        mockMvc.perform(get("/api/books/availability/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void committedBorrowAndReturnReachSubscriber() throws Exception {
+        Book book = bookRepository.save(TestData.book("978-stream-commit", "Stream Title", "Stream Author"));
+        Member member = TestData.savedMember(memberRepository, "stream-commit-member", "MEMBER");
+        MockHttpServletResponse stream = subscribe();
+
+        runAs(member, () -> loanService.borrowBook(book.getIsbn()));
+        awaitEvent(stream, book, false);
+
+        Long loanId = loanRepository.findByBookIdAndReturnDateIsNull(book.getId()).get(0).getId();
+        runAs(member, () -> loanService.returnLoan(loanId));
+        awaitEvent(stream, book, true);
+    }
+
+    @Test
+    void rolledBackBorrowSendsNothing() throws Exception {
+        Book rolledBack = bookRepository.save(TestData.book("978-stream-rollback", "Stream Title", "Stream Author"));
+        Book committed = bookRepository.save(TestData.book("978-stream-after", "Stream Title", "Stream Author"));
+        Member member = TestData.savedMember(memberRepository, "stream-rollback-member", "MEMBER");
+        MockHttpServletResponse stream = subscribe();
+
+        // The borrow joins an outer transaction that is rolled back after the loan is written
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            runAs(member, () -> loanService.borrowBook(rolledBack.getIsbn()));
+            status.setRollbackOnly();
+        });
+        runAs(member, () -> loanService.borrowBook(committed.getIsbn()));
+
+        // Each subscriber gets events in publish order, so the rolled-back one would have arrived first
+        awaitEvent(stream, committed, false);
+        assertFalse(stream.getContentAsString().contains(eventData(rolledBack, false)), stream.getContentAsString());
+    }
+
+    @Test
+    void restOfCatalogStillNeedsToken() throws Exception {
+        mockMvc.perform(get("/api/books/available"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private MockHttpServletResponse subscribe() throws Exception {
+        return mockMvc.perform(get("/api/books/availability/stream").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+    }
+
+    // Events are sent by the feed's dispatcher threads, so they land in the response shortly after the commit
+    private static void awaitEvent(MockHttpServletResponse stream, Book book, boolean available) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!stream.getContentAsString().contains(eventData(book, available))) {
+            if (System.nanoTime() > deadline) {
+                fail("no event for book " + book.getId() + " in: " + stream.getContentAsString());
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static String eventData(Book book, boolean available) {
+        return "data:{\"bookId\":" + book.getId() + ",\"available\":" + available + "}";
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.lms.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static com.example.lms.jdbc.SqlBudget.assertMaxStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BookControllerSqlBudgetTest extends SqlBudgetTestSupport {
+
+    @Test
+    void availableBooks() throws Exception {
+        // One catalog chunk filtered against the on-loan index, however many books are on loan
+        assertMaxStatements("GET /api/books/available", 1, () -> mockMvc
+                .perform(get("/api/books/available").param("limit", "20").header("Authorization", bearer))
+                .andExpect(status().isOk()));
+        assertMaxStatements("GET /api/books/available?sort=title", 1, () -> mockMvc
+                .perform(get("/api/books/available").param("limit", "20").param("sort", "title")
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void availableBooksNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/books/available").param("limit", "20").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        // Answered from the catalog version stamp
+        assertMaxStatements("GET /api/books/available (If-None-Match)", 0, () -> mockMvc
+                .perform(get("/api/books/available").param("limit", "20").header("Authorization", bearer)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag)));
+    }
+
+    @Test
+    void search() throws Exception {
+        // Served from the in-memory search index
+        assertMaxStatements("GET /api/books/search", 0, () -> mockMvc
+                .perform(get("/api/books/search").param("q", "budget").header("Authorization", bearer))
+                .andExpect(status().isOk()));
+    }
+}
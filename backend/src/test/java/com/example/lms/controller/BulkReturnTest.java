@@ -0,0 +1,126 @@
+package com.example.lms.controller;
+
+import com.example.lms.TestData;
+import com.example.lms.entity.Book;
+import com.example.lms.entity.Loan;
+import com.example.lms.entity.Member;
+import com.example.lms.repository.BookRepository;
+import com.example.lms.repository.LoanRepository;
+import com.example.lms.repository.MemberRepository;
+import com.example.lms.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.lms.TestData.savedMember;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The staff bulk return: loans matched by ID or by ISBN, either list on its own, and fines set on every returned loan.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class BulkReturnTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String adminBearer;
+    private Member borrower;
+
+    @BeforeEach
+    void members() {
+        adminBearer = "Bearer " + jwtService.generateToken(savedMember(memberRepository, "bulk-return-admin", "ADMIN"));
+        borrower = savedMember(memberRepository, "bulk-return-member", "MEMBER");
+    }
+
+    @Test
+    void returnsByLoanIdsAlone() throws Exception {
+        Loan loan = openLoan("978-bulk-ids-1", 5);
+
+        mockMvc.perform(post("/api/loans/return/batch").header("Authorization", adminBearer)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"loanIds\":[" + loan.getId() + ",-1]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.returned").value(1))
+                .andExpect(jsonPath("$.totalFines").value(0.0))
+                .andExpect(jsonPath("$.unmatchedLoanIds", contains(-1)))
+                .andExpect(jsonPath("$.unmatchedIsbns", empty()));
+
+        Loan returned = loanRepository.findById(loan.getId()).orElseThrow();
+        assertNotNull(returned.getReturnDate());
+        assertEquals(0, returned.getFine());
+    }
+
+    @Test
+    void returnsByIsbnsAlone() throws Exception {
+        Loan loan = openLoan("978-bulk-isbns-1", 5);
+
+        mockMvc.perform(post("/api/loans/return/batch").header("Authorization", adminBearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"loanIds\":[],\"isbns\":[\"978-bulk-isbns-1\",\"978-bulk-isbns-unknown\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.returned").value(1))
+                .andExpect(jsonPath("$.unmatchedLoanIds", empty()))
+                .andExpect(jsonPath("$.unmatchedIsbns", contains("978-bulk-isbns-unknown")));
+
+        assertNotNull(loanRepository.findById(loan.getId()).orElseThrow().getReturnDate());
+    }
+
+    @Test
+    void overdueLoansAreFinedOnReturn() throws Exception {
+        Loan onTime = openLoan("978-bulk-fine-1", 3);
+        Loan tenDaysLate = openLoan("978-bulk-fine-2", -10);
+        Loan longOverdue = openLoan("978-bulk-fine-3", -100);
+
+        mockMvc.perform(post("/api/loans/return/batch").header("Authorization", adminBearer)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"loanIds\":[" + onTime.getId() + ","
+                                + tenDaysLate.getId() + "],\"isbns\":[\"978-bulk-fine-3\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.returned").value(3))
+                .andExpect(jsonPath("$.totalFines").value(25.0));
+
+        assertEquals(0, loanRepository.findById(onTime.getId()).orElseThrow().getFine());
+        assertEquals(5.0, loanRepository.findById(tenDaysLate.getId()).orElseThrow().getFine());
+        assertEquals(20.0, loanRepository.findById(longOverdue.getId()).orElseThrow().getFine()); // capped
+    }
+
+    // An open loan of a new book, due the given number of days from now (negative: already overdue)
+    private Loan openLoan(String isbn, int dueInDays) {
+        Book book = bookRepository.save(TestData.book(isbn, "Bulk Return " + isbn, "Bulk Author"));
+        Date now = new Date();
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setMember(borrower);
+        loan.setLoanDate(new Date(now.getTime() - TimeUnit.DAYS.toMillis(120)));
+        loan.setDueDate(new Date(now.getTime() + TimeUnit.DAYS.toMillis(dueInDays)));
+        loan.setExtensions(0);
+        return loanRepository.save(loan);
+    }
+}
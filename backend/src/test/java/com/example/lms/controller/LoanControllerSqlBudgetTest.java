@@ -0,0 +1,40 @@
+package com.example.lms.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static com.example.lms.jdbc.SqlBudget.assertMaxStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class LoanControllerSqlBudgetTest extends SqlBudgetTestSupport {
+
+    @Test
+    void myLoans() throws Exception {
+        // Member (cache miss or re-attach) + one joined LoanView select, however many loans the member has
+        assertMaxStatements("GET /api/loans/my", 2, () -> mockMvc
+                .perform(get("/api/loans/my").header("Authorization", bearer))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void myLoansNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/loans/my").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        // Member id from the token, version from the member's stamp; the member is not even loaded
+        assertMaxStatements("GET /api/loans/my (If-None-Match)", 0, () -> mockMvc
+                .perform(get("/api/loans/my").header("Authorization", bearer).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag)));
+    }
+
+    @Test
+    void borrow() throws Exception {
+        // Member, open-loan summary, book with version lock, loan_seq block, loan insert, book version bump
+        assertMaxStatements("POST /api/loans/borrow", 6, () -> mockMvc
+                .perform(post("/api/loans/borrow").param("isbn", isbn(BOOKS - 1)).header("Authorization", bearer))
+                .andExpect(status().isOk()));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.lms.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static com.example.lms.jdbc.SqlBudget.assertMaxStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MemberControllerSqlBudgetTest extends SqlBudgetTestSupport {
+
+    @Test
+    void page() throws Exception {
+        assertMaxStatements("GET /api/members/page", 1, () -> mockMvc
+                .perform(get("/api/members/page").param("limit", "20").header("Authorization", bearer))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void byId() throws Exception {
+        assertMaxStatements("GET /api/members/{id}", 1, () -> mockMvc
+                .perform(get("/api/members/" + member.getId()).header("Authorization", bearer))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void search() throws Exception {
+        // Index lookup, then one IN query for the matching page
+        assertMaxStatements("GET /api/members/search", 1, () -> mockMvc
+                .perform(get("/api/members/search").param("name", "budget").header("Authorization", bearer))
+                .andExpect(status().isOk()));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.lms.controller;
+
+import com.example.lms.repository.MemberRepository;
+import com.example.lms.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.lms.TestData.savedMember;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cursors and sort orders come from the client, so a tampered or stale one is a bad request, not a server error.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class PageCursorValidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String bearer;
+
+    @BeforeEach
+    void token() {
+        bearer = "Bearer " + jwtService.generateToken(savedMember(memberRepository, "cursor-member", "MEMBER"));
+    }
+
+    @Test
+    void unknownSortIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/books/available").param("sort", "price").header("Authorization", bearer))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void malformedCatalogCursorIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/books/available").param("after", "abc").header("Authorization", bearer))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/books/available").param("sort", "title").param("after", "%%%")
+                        .header("Authorization", bearer))
+                .andExpect(status().isBadRequest());
+        // Valid Base64, but no sort key / id separator
+        mockMvc.perform(get("/api/books/available").param("sort", "title").param("after", "dGl0bGU")
+                        .header("Authorization", bearer))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void malformedHistoryCursorIsBadRequest() throws Exception {
+        // "x\n1" encoded: the return-date part is not a number
+        mockMvc.perform(get("/api/loans/my/history").param("before", "eAox").header("Authorization", bearer))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.lms.controller;
+
+import com.example.lms.TestData;
+import com.example.lms.entity.Book;
+import com.example.lms.entity.Loan;
+import com.example.lms.entity.Member;
+import com.example.lms.repository.BookRepository;
+import com.example.lms.repository.LoanRepository;
+import com.example.lms.repository.MemberRepository;
+import com.example.lms.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Date;
+
+/**
+ * Shared setup for the per-endpoint SQL statement budget tests: the full application on H2 with a small,
+ * fixed library. The data is seeded once per (cached) context; budgets are written against it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+abstract class SqlBudgetTestSupport {
+
+    static final String USERNAME = "budget-member";
+    static final int BOOKS = 30;
+    static final int HISTORY_LOANS = 3;
+
+    private static final long DAY = 86_400_000L;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    BookRepository bookRepository;
+
+    @Autowired
+    LoanRepository loanRepository;
+
+    @Autowired
+    JwtService jwtService;
+
+    Member member;
+    String bearer;
+
+    static String isbn(int n) {
+        return String.format("978-budget-%03d", n);
+    }
+
+    @BeforeEach
+    void seed() {
+        member = memberRepository.findByUsername(USERNAME).orElseGet(this::seedLibrary);
+        bearer = "Bearer " + jwtService.generateToken(member);
+    }
+
+    private Member seedLibrary() {
+        Member seeded = memberRepository.save(TestData.member(USERNAME, "MEMBER"));
+        for (int n = 0; n < BOOKS; n++) {
+            Book book = bookRepository.save(TestData.book(isbn(n), "Budget Title " + n, "Budget Author " + (n % 5)));
+            if (n < HISTORY_LOANS) {
+                // Returned loans on distinct books, so /my shows history without using up borrow slots
+                Loan loan = new Loan();
+                loan.setBook(book);
+                loan.setMember(seeded);
+                loan.setLoanDate(new Date(System.currentTimeMillis() - 20 * DAY));
+                loan.setDueDate(new Date(System.currentTimeMillis() - 6 * DAY));
+                loan.setReturnDate(new Date(System.currentTimeMillis() - 7 * DAY));
+                loanRepository.save(loan);
+            }
+        }
+        return seeded;
+    }
+}
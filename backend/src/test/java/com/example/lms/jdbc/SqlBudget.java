@@ -0,0 +1,40 @@
+package com.example.lms.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test helper that runs an action (typically a MockMvc call) inside a SqlStatementCounter scope and
+ * fails when it executes more SQL statements than its budget. Use it to pin the query count of an endpoint
+ * so an N+1 regression fails the build instead of showing up in production latency.
+ */
+public final class SqlBudget {
+
+    private SqlBudget() {
+    }
+
+    /**
+     * Runs the action and asserts it executed at most {@code maxStatements} statements.
+     * @return The counts, for further assertions on rows read
+     */
+    public static SqlStats assertMaxStatements(String endpoint, int maxStatements, SqlAction action) throws Exception {
+        SqlStats stats = measure(action);
+        assertTrue(stats.getStatements() <= maxStatements,
+                () -> endpoint + " executed " + stats + ", budget is " + maxStatements + " statements");
+        return stats;
+    }
+
+    public static SqlStats measure(SqlAction action) throws Exception {
+        SqlStats stats = SqlStatementCounter.begin();
+        try {
+            action.run();
+        } finally {
+            SqlStatementCounter.end(stats);
+        }
+        return stats;
+    }
+
+    @FunctionalInterface
+    public interface SqlAction {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.lms.jdbc;
+
+import com.example.lms.repository.MemberRepository;
+import com.example.lms.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.example.lms.TestData.savedMember;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The dev-profile statement report buffers response bodies, so it must leave streamed responses alone.
+ */
+@SpringBootTest(properties = "lms.sql-stats.report=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("it")
+class SqlStatsFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    private String bearer;
+
+    @BeforeEach
+    void token() {
+        bearer = "Bearer " + jwtService.generateToken(savedMember(memberRepository, "sql-stats-admin", "ADMIN"));
+    }
+
+    @Test
+    void reportsStatementsOfBufferedResponses() throws Exception {
+        mockMvc.perform(get("/api/members/page").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(SqlStatsFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void leavesStreamedExportUnbuffered() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/members/export").header("Authorization", bearer))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(SqlStatsFilter.STATEMENTS_HEADER));
+    }
+
+    @Test
+    void leavesEventStreamUnbuffered() throws Exception {
+        mockMvc.perform(get("/api/books/availability/stream"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().doesNotExist(SqlStatsFilter.STATEMENTS_HEADER));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.lms.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-endpoint response times and status codes for one scenario and renders the
+ * throughput and latency-percentile table printed at the end of a load-test run.
+ */
+class LatencyRecorder {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, int status) {
+        endpoints.computeIfAbsent(endpoint, key -> new EndpointStats()).add(nanos, status);
+    }
+
+    long count(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        return stats == null ? 0 : stats.snapshot().length;
+    }
+
+    long errors(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        return stats == null ? 0 : stats.errors();
+    }
+
+    String report(String scenario, Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%n=== %s (%.1f s) ===%n", scenario, seconds));
+        out.append(String.format("%-28s %8s %9s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "non-2xx", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(endpoints).entrySet()) {
+            long[] sorted = entry.getValue().snapshot();
+            Arrays.sort(sorted);
+            out.append(String.format("%-28s %8d %9.1f %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), sorted.length, sorted.length / seconds, entry.getValue().errors(),
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 90)), millis(percentile(sorted, 99)),
+                    millis(percentile(sorted, 99.9)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1])));
+        }
+        return out.toString();
+    }
+
+    // Nearest-rank percentile
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class EndpointStats {
+        private long[] samples = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long nanos, int status) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+            if (status < 200 || status >= 300) {
+                errors++;
+            }
+        }
+
+        synchronized long[] snapshot() {
+            return Arrays.copyOf(samples, size);
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+    }
+}
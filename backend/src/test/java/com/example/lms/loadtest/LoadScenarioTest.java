@@ -0,0 +1,222 @@
+package com.example.lms.loadtest;
+
+import com.example.lms.repository.LoanRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Scripted load scenarios against the real REST endpoints, with the backend on H2 (MySQL mode) and a
+ * synthetic library from LoadTestSeeder. Excluded from the default build; run with {@code mvn -Ploadtest test}.
+ * Each scenario prints per-endpoint throughput and latency percentiles and appends them to
+ * target/loadtest-report.txt.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Tag("loadtest")
+class LoadScenarioTest {
+
+    private static final Path REPORT = Path.of("target", "loadtest-report.txt");
+    private static final String[] SEARCH_TERMS = {"sil", "riv", "gard", "emp", "shad", "win", "tan", "lim", "kum", "nov"};
+    private static final String[] SORTS = {"id", "title", "author"};
+    private static final int BROWSE_PAGES = 5;
+    private static final int CHECKOUT_MEMBERS_PER_WORKER = 4;
+
+    private static HttpClient httpClient;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Value("${lms.loadtest.members}")
+    private int members;
+
+    @Value("${lms.loadtest.open-loan-every}")
+    private int openLoanEvery;
+
+    @Value("${lms.loadtest.concurrency}")
+    private int concurrency;
+
+    @Value("${lms.loadtest.scenario-duration}")
+    private Duration scenarioDuration;
+
+    @Value("${lms.loadtest.hot-books}")
+    private int hotBooks;
+
+    @BeforeAll
+    static void startClient() {
+        httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    @AfterAll
+    static void stopClient() {
+        httpClient.close();
+    }
+
+    /**
+     * Every worker logs in continuously with a different member: BCrypt pool throughput and 503 shedding.
+     */
+    @Test
+    void loginStorm() throws Exception {
+        LatencyRecorder recorder = runScenario("login storm", (client, worker, random, deadline) -> {
+            for (int n = worker; System.nanoTime() < deadline; n += concurrency) {
+                client.login(LoadTestSeeder.username(n % members), LoadTestSeeder.PASSWORD);
+            }
+        });
+        assertTrue(recorder.count("POST /api/auth/login") > recorder.errors("POST /api/auth/login"),
+                "no login succeeded");
+    }
+
+    /**
+     * Read-mostly traffic: paging the available-books listing, autocomplete search and "my loans".
+     */
+    @Test
+    void browseHeavy() throws Exception {
+        LatencyRecorder recorder = runScenario("browse heavy", (client, worker, random, deadline) -> {
+            String token = loginOrFail(client, worker % members);
+            while (System.nanoTime() < deadline) {
+                int roll = random.nextInt(100);
+                if (roll < 60) {
+                    String sort = SORTS[random.nextInt(SORTS.length)];
+                    String cursor = null;
+                    for (int page = 0; page < BROWSE_PAGES; page++) {
+                        String path = "/api/books/available?limit=50&sort=" + sort
+                                + (cursor == null ? "" : "&after=" + cursor);
+                        HttpResponse<String> response = client.get("GET /api/books/available", path, token);
+                        if (response == null || response.statusCode() != 200) {
+                            break;
+                        }
+                        cursor = client.readTree(response.body()).path("nextCursor").asText(null);
+                        if (cursor == null) {
+                            break;
+                        }
+                    }
+                } else if (roll < 85) {
+                    String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+                    client.get("GET /api/books/search", "/api/books/search?autocomplete=true&q=" + term, token);
+                } else {
+                    client.get("GET /api/loans/my", "/api/loans/my", token);
+                }
+            }
+        });
+        assertEquals(0, recorder.errors("GET /api/books/available"));
+        assertEquals(0, recorder.errors("GET /api/books/search"));
+    }
+
+    /**
+     * Many members fighting over a few hot books: borrow, and on success look the loan up and return it.
+     * Rejected borrows are expected and show up as non-2xx; the invariant is that no book is lent twice.
+     */
+    @Test
+    void checkoutRush() throws Exception {
+        runScenario("checkout rush", (client, worker, random, deadline) -> {
+            List<String> tokens = new ArrayList<>();
+            for (int i = 0; i < CHECKOUT_MEMBERS_PER_WORKER; i++) {
+                tokens.add(loginOrFail(client, memberWithoutOpenLoan(worker * CHECKOUT_MEMBERS_PER_WORKER + i)));
+            }
+            while (System.nanoTime() < deadline) {
+                String token = tokens.get(random.nextInt(tokens.size()));
+                String isbn = LoadTestSeeder.isbn(random.nextInt(hotBooks));
+                HttpResponse<String> borrowed = client.post("POST /api/loans/borrow",
+                        "/api/loans/borrow?isbn=" + isbn, token);
+                if (borrowed == null || borrowed.statusCode() != 200) {
+                    continue;
+                }
+                HttpResponse<String> mine = client.get("GET /api/loans/my", "/api/loans/my", token);
+                if (mine == null || mine.statusCode() != 200) {
+                    continue;
+                }
+                for (JsonNode loan : client.readTree(mine.body())) {
+                    if (loan.path("returnDate").isNull() && isbn.equals(loan.path("isbn").asText())) {
+                        client.post("POST /api/loans/return/{id}", "/api/loans/return/" + loan.path("id").asLong(),
+                                token);
+                    }
+                }
+            }
+        });
+        List<Long> openBookIds = loanRepository.findActiveBookIds();
+        assertEquals(openBookIds.size(), new HashSet<>(openBookIds).size(), "a book has two open loans");
+    }
+
+    private int memberWithoutOpenLoan(int n) {
+        if (openLoanEvery <= 1) {
+            return n % members;
+        }
+        // Skip members with index % openLoanEvery == 0, which the seeder gave an open loan
+        int perBlock = openLoanEvery - 1;
+        return ((n / perBlock) * openLoanEvery + 1 + n % perBlock) % members;
+    }
+
+    private static String loginOrFail(LoadClient client, int member) {
+        String token = client.login(LoadTestSeeder.username(member), LoadTestSeeder.PASSWORD);
+        if (token == null) {
+            throw new IllegalStateException("Login failed for " + LoadTestSeeder.username(member));
+        }
+        return token;
+    }
+
+    private LatencyRecorder runScenario(String name, Worker worker) throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        long started = System.nanoTime();
+        long deadline = started + scenarioDuration.toNanos();
+        try {
+            List<Callable<Void>> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                int index = i;
+                workers.add(() -> {
+                    LoadClient client = new LoadClient(httpClient, "http://localhost:" + port, recorder);
+                    worker.run(client, index, new Random(index), deadline);
+                    return null;
+                });
+            }
+            for (Future<Void> result : pool.invokeAll(workers)) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        writeReport(recorder.report(name + ", " + concurrency + " clients",
+                Duration.ofNanos(System.nanoTime() - started)));
+        return recorder;
+    }
+
+    private static void writeReport(String report) throws IOException {
+        System.out.print(report);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, report, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @FunctionalInterface
+    private interface Worker {
+        void run(LoadClient client, int worker, Random random, long deadline);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.lms.loadtest;
+
+import com.example.lms.entity.Book;
+import com.example.lms.entity.Loan;
+import com.example.lms.entity.Member;
+import com.example.lms.repository.BookRepository;
+import com.example.lms.repository.LoanRepository;
+import com.example.lms.repository.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seeds the load-test database with a synthetic library. Runs as an ApplicationRunner, i.e. before
+ * ApplicationReadyEvent, so the on-loan and search indexes are built from the seeded data.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestSeeder.class);
+
+    static final String PASSWORD = "loadtest-password";
+    private static final int CHUNK_SIZE = 1000;
+    private static final long DAY = 86_400_000L;
+
+    private static final String[] TITLE_WORDS = {
+            "Silent", "River", "Garden", "Empire", "Shadow", "Winter", "Machine", "Ocean", "Letters", "Harbour",
+            "Memory", "Crimson", "Atlas", "Northern", "Paper", "Glass", "Orchard", "Signal", "Lantern", "Island"
+    };
+    private static final String[] SURNAMES = {
+            "Tan", "Lim", "Ng", "Wong", "Lee", "Chua", "Goh", "Koh", "Teo", "Ong",
+            "Smith", "Garcia", "Kumar", "Rahman", "Nguyen", "Müller", "Silva", "Okafor", "Sato", "Novak"
+    };
+
+    private final MemberRepository memberRepository;
+    private final BookRepository bookRepository;
+    private final LoanRepository loanRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${lms.loadtest.members}")
+    private int members;
+
+    @Value("${lms.loadtest.books}")
+    private int books;
+
+    @Value("${lms.loadtest.history-loans-per-member}")
+    private int historyLoansPerMember;
+
+    @Value("${lms.loadtest.open-loan-every}")
+    private int openLoanEvery;
+
+    public LoadTestSeeder(MemberRepository memberRepository, BookRepository bookRepository,
+                          LoanRepository loanRepository, PasswordEncoder passwordEncoder,
+                          PlatformTransactionManager transactionManager) {
+        this.memberRepository = memberRepository;
+        this.bookRepository = bookRepository;
+        this.loanRepository = loanRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    static String username(int n) {
+        return "loadtest" + n;
+    }
+
+    static String isbn(int n) {
+        return String.format("979%010d", n);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        Random random = new Random(42);
+        // One hash for everyone; BCrypt per member would dominate seeding time
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+
+        List<Long> memberIds = new ArrayList<>(members);
+        for (int from = 0; from < members; from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(members, from + CHUNK_SIZE);
+            memberIds.addAll(transactionTemplate.execute(status -> {
+                List<Member> chunk = new ArrayList<>(end - start);
+                for (int n = start; n < end; n++) {
+                    Member member = new Member();
+                    member.setName(TITLE_WORDS[n % TITLE_WORDS.length] + " " + SURNAMES[(n / 7) % SURNAMES.length]);
+                    member.setUsername(username(n));
+                    member.setEmail(username(n) + "@loadtest.example");
+                    member.setPassword(passwordHash);
+                    member.setRole("MEMBER");
+                    // Registered within the last six months, so every membership is still valid
+                    member.setRegistrationDate(new Date(System.currentTimeMillis() - random.nextInt(180) * DAY));
+                    chunk.add(member);
+                }
+                return memberRepository.saveAll(chunk).stream().map(Member::getId).toList();
+            }));
+        }
+
+        List<Long> bookIds = new ArrayList<>(books);
+        for (int from = 0; from < books; from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(books, from + CHUNK_SIZE);
+            bookIds.addAll(transactionTemplate.execute(status -> {
+                List<Book> chunk = new ArrayList<>(end - start);
+                for (int n = start; n < end; n++) {
+                    Book book = new Book();
+                    book.setTitle(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " "
+                            + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + n);
+                    book.setAuthor(SURNAMES[random.nextInt(SURNAMES.length)] + " "
+                            + SURNAMES[random.nextInt(SURNAMES.length)]);
+                    book.setIsbn(isbn(n));
+                    chunk.add(book);
+                }
+                return bookRepository.saveAll(chunk).stream().map(Book::getId).toList();
+            }));
+        }
+
+        // Returned history for everyone, plus one open loan for every n-th member on a distinct book.
+        // Open loans start halfway through the catalog so the checkout rush finds its hot books available.
+        AtomicInteger nextOpenBook = new AtomicInteger(bookIds.size() / 2);
+        int membersPerChunk = Math.max(1, CHUNK_SIZE / (historyLoansPerMember + 1));
+        int loans = 0;
+        for (int from = 0; from < memberIds.size(); from += membersPerChunk) {
+            int start = from;
+            int end = Math.min(memberIds.size(), from + membersPerChunk);
+            loans += transactionTemplate.execute(status -> {
+                List<Loan> chunk = new ArrayList<>();
+                long now = System.currentTimeMillis();
+                for (int m = start; m < end; m++) {
+                    Member member = memberRepository.getReferenceById(memberIds.get(m));
+                    for (int i = 0; i < historyLoansPerMember; i++) {
+                        long loanDate = now - (30 + random.nextInt(300)) * DAY;
+                        Loan loan = new Loan();
+                        loan.setMember(member);
+                        loan.setBook(bookRepository.getReferenceById(bookIds.get(random.nextInt(bookIds.size()))));
+                        loan.setLoanDate(new Date(loanDate));
+                        loan.setDueDate(new Date(loanDate + 14 * DAY));
+                        loan.setReturnDate(new Date(loanDate + random.nextInt(20) * DAY));
+                        chunk.add(loan);
+                    }
+                    if (openLoanEvery > 0 && m % openLoanEvery == 0 && nextOpenBook.get() < bookIds.size()) {
+                        Loan loan = new Loan();
+                        loan.setMember(member);
+                        loan.setBook(bookRepository.getReferenceById(bookIds.get(nextOpenBook.getAndIncrement())));
+                        loan.setLoanDate(new Date(now - 3 * DAY));
+                        loan.setDueDate(new Date(now + 11 * DAY));
+                        chunk.add(loan);
+                    }
+                }
+                loanRepository.saveAll(chunk);
+                return chunk.size();
+            });
+        }
+
+        log.info("Seeded {} members, {} books and {} loans in {} ms", memberIds.size(), bookIds.size(), loans,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.lms.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN on the embedded database, built by the Flyway migrations, for the SQL behind the hot repository
+ * queries and checks each one is planned as a lookup on its index rather than a table scan.
+ */
+@SpringBootTest
+@ActiveProfiles("it")
+class HotPathIndexExplainTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void memberByUsernameUsesUniqueIndex() {
+        // MemberRepository.findByUsername: every login and JWT fallback lookup
+        assertUsesIndex("SELECT * FROM member WHERE username = 'alice'", "uk_member_username");
+    }
+
+    @Test
+    void openLoanOfBookUsesBookIndex() {
+        // LoanRepository.findByBookIdAndReturnDateIsNull / findActiveBookIdsIn
+        assertUsesIndex("SELECT id FROM loan WHERE book_id = 42 AND return_date IS NULL", "idx_loan_book_open");
+    }
+
+    @Test
+    void memberLoanSummaryUsesMemberIndex() {
+        // LoanRepository.summarizeOpenLoans, on every borrow and renewal
+        assertUsesIndex("SELECT COUNT(*) FROM loan WHERE member_id = 7 AND return_date IS NULL",
+                "idx_loan_member_open");
+    }
+
+    @Test
+    void overdueScanUsesOpenDueIndex() {
+        // LoanRepository.findOverdueChunk, the fine accrual job
+        assertUsesIndex("SELECT id, member_id, due_date FROM loan WHERE return_date IS NULL"
+                + " AND due_date < CURRENT_TIMESTAMP ORDER BY due_date, id", "idx_loan_open_due");
+    }
+
+    @Test
+    void fineLedgerByMemberUsesLedgerIndex() {
+        // FineLedgerRepository.findByMemberIdOrderByIdDesc
+        assertUsesIndex("SELECT * FROM fine_ledger WHERE member_id = 7 ORDER BY id DESC LIMIT 50",
+                "idx_fine_ledger_member");
+    }
+
+    private void assertUsesIndex(String sql, String index) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase();
+        assertTrue(plan.contains(index), () -> "expected " + index + " in plan:\n" + plan);
+        assertFalse(plan.contains("tablescan"), () -> "table scan in plan:\n" + plan);
+    }
+}
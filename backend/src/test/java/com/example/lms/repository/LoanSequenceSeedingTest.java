@@ -0,0 +1,92 @@
+package com.example.lms.repository;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.OptimizerFactory;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the MySQL V2 migration over a database that already has loans (H2 in MySQL mode standing in for MySQL) and
+ * checks that the ids Hibernate then allocates from the loan_seq table start right after the existing ones.
+ */
+class LoanSequenceSeedingTest {
+
+    private static final int ALLOCATION_SIZE = 50; // Loan's @SequenceGenerator
+
+    @Test
+    void firstNewLoanIdFollowsTheExistingLoans() {
+        JdbcTemplate jdbc = migrateWithExistingLoans("loan_seq_existing", 120);
+
+        assertEquals(170L, jdbc.queryForObject("SELECT next_val FROM loan_seq", Long.class));
+        Optimizer optimizer = pooledOptimizer();
+        AccessCallback loanSeq = loanSeqTable(jdbc);
+        assertEquals(121L, nextId(optimizer, loanSeq));
+        assertEquals(122L, nextId(optimizer, loanSeq));
+    }
+
+    @Test
+    void emptyLoanTableStartsAtOne() {
+        JdbcTemplate jdbc = migrateWithExistingLoans("loan_seq_empty", 0);
+
+        assertEquals(1L, nextId(pooledOptimizer(), loanSeqTable(jdbc)));
+    }
+
+    // Creates the baseline schema, inserts loans with AUTO_INCREMENT ids up to maxId, then applies V2
+    private static JdbcTemplate migrateWithExistingLoans(String database, long maxId) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        migrate(dataSource, "1");
+        if (maxId > 0) {
+            jdbc.update("INSERT INTO book (title, author, isbn) VALUES ('Seed', 'Seed', '978-seed')");
+            jdbc.update("INSERT INTO loan (book_id, fine, extensions) SELECT id, 0, 0 FROM book");
+            jdbc.update("INSERT INTO loan (id, book_id, fine, extensions) SELECT ?, id, 0, 0 FROM book", maxId);
+        }
+        migrate(dataSource, "2");
+        return jdbc;
+    }
+
+    private static void migrate(DataSource dataSource, String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/mysql")
+                .target(target)
+                .load()
+                .migrate();
+    }
+
+    private static Optimizer pooledOptimizer() {
+        return OptimizerFactory.buildOptimizer(StandardOptimizerDescriptor.POOLED, Long.class, ALLOCATION_SIZE, 1);
+    }
+
+    // Reads and advances the single-row table the way Hibernate's table-backed sequence does on MySQL
+    private static AccessCallback loanSeqTable(JdbcTemplate jdbc) {
+        return new AccessCallback() {
+            @Override
+            public IntegralDataTypeHolder getNextValue() {
+                long value = jdbc.queryForObject("SELECT next_val FROM loan_seq", Long.class);
+                jdbc.update("UPDATE loan_seq SET next_val = ?", value + ALLOCATION_SIZE);
+                return IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class).initialize(value);
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return null;
+            }
+        };
+    }
+
+    private static long nextId(Optimizer optimizer, AccessCallback callback) {
+        return ((Number) optimizer.generate(callback)).longValue();
+    }
+}
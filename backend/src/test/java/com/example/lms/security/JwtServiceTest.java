@@ -0,0 +1,33 @@
+package com.example.lms.security;
+
+import com.example.lms.TestData;
+import com.example.lms.entity.Member;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verified claims are cached per token, so repeat requests skip the signature check.
+ * The per-request cost against the uncached path is measured by JwtBenchmark in backend-bench.
+ */
+class JwtServiceTest {
+
+    private static final String SECRET = "Y2hhbmdlLXRoaXMtMjU2LWJpdC1zZWNyZXQta2V5ISE=";
+
+    @Test
+    void verifiedClaimsAreReused() {
+        JwtService jwtService = new JwtService(SECRET, Duration.ofMinutes(15));
+        Member member = TestData.member("alice", "MEMBER");
+        String token = jwtService.generateToken(member);
+
+        Claims first = jwtService.extractAllClaims(token);
+        assertSame(first, jwtService.extractAllClaims(token));
+        assertTrue(jwtService.isTokenValid(first, member));
+        assertEquals("alice", first.getSubject());
+    }
+}
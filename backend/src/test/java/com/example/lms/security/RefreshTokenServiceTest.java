@@ -0,0 +1,57 @@
+package com.example.lms.security;
+
+import com.example.lms.entity.Member;
+import com.example.lms.repository.MemberRepository;
+import com.example.lms.repository.RefreshTokenRepository;
+import com.example.lms.service.MemberService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.example.lms.TestData.savedMember;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("it")
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Test
+    void usedTokenIsRejectedAndEndsEverySession() {
+        Member member = savedMember(memberRepository, "refresh-reuse", "MEMBER");
+        String used = refreshTokenService.issue(member).getRefreshToken();
+        String rotated = refreshTokenService.refresh(used).getRefreshToken();
+
+        InvalidRefreshTokenException reuse = assertThrows(InvalidRefreshTokenException.class,
+                () -> refreshTokenService.refresh(used));
+        assertEquals("Refresh token reuse detected", reuse.getMessage());
+        assertThrows(InvalidRefreshTokenException.class, () -> refreshTokenService.refresh(rotated));
+    }
+
+    @Test
+    void deletingMemberRemovesTheirTokens() {
+        Member member = savedMember(memberRepository, "refresh-delete", "MEMBER");
+        refreshTokenService.issue(member);
+        refreshTokenService.issue(member);
+
+        memberService.deleteMember(member.getId());
+
+        assertFalse(memberRepository.existsById(member.getId()));
+        assertEquals(0, refreshTokenRepository.findAll().stream()
+                .filter(token -> token.getMember().getId().equals(member.getId())).count());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.lms.service;
+
+import com.example.lms.TestData;
+import com.example.lms.dto.BatchBorrowResult;
+import com.example.lms.entity.Book;
+import com.example.lms.entity.Member;
+import com.example.lms.repository.BookRepository;
+import com.example.lms.repository.LoanRepository;
+import com.example.lms.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.lms.TestData.runAs;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The checkout-desk batch borrow against a real database: per-ISBN failures, the loan cap across a batch and
+ * repeated scans of the same ISBN.
+ */
+@SpringBootTest
+@ActiveProfiles("it")
+class BatchBorrowDatabaseTest {
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    void failedIsbnsDoNotStopTheRestOfTheBatch() {
+        List<Book> books = seedBooks("partial", 2);
+        Member other = TestData.savedMember(memberRepository, "partial-other", "MEMBER");
+        Member member = TestData.savedMember(memberRepository, "partial-member", "MEMBER");
+        runAs(other, () -> loanService.borrowBook(books.get(1).getIsbn()));
+
+        List<BatchBorrowResult> results = borrowAs(member,
+                List.of(books.get(0).getIsbn(), "978-partial-missing", books.get(1).getIsbn()));
+
+        assertEquals(List.of(
+                new BatchBorrowResult(books.get(0).getIsbn(), true, null),
+                new BatchBorrowResult("978-partial-missing", false, "Book not found"),
+                new BatchBorrowResult(books.get(1).getIsbn(), false, "Book not available")), results);
+        assertEquals(member.getId(),
+                loanRepository.findByBookIdAndReturnDateIsNull(books.get(0).getId()).get(0).getMember().getId());
+        assertEquals(other.getId(),
+                loanRepository.findByBookIdAndReturnDateIsNull(books.get(1).getId()).get(0).getMember().getId());
+        assertEquals(1, loanService.getEligibility(member).getActiveLoans());
+    }
+
+    @Test
+    void batchStopsLendingAtTheLoanCap() {
+        List<Book> books = seedBooks("cap", 5);
+        Member member = TestData.savedMember(memberRepository, "batch-cap-member", "MEMBER");
+        runAs(member, () -> loanService.borrowBook(books.get(0).getIsbn()));
+
+        List<BatchBorrowResult> results = borrowAs(member,
+                books.subList(1, 5).stream().map(Book::getIsbn).toList());
+
+        assertEquals(List.of(true, true, false, false), results.stream().map(BatchBorrowResult::isSuccess).toList());
+        assertEquals("Borrow limit reached", results.get(2).getMessage());
+        assertEquals("Borrow limit reached", results.get(3).getMessage());
+        assertEquals(MemberEligibility.MAX_ACTIVE_LOANS, loanService.getEligibility(member).getActiveLoans());
+        assertEquals(0, loanRepository.findByBookIdAndReturnDateIsNull(books.get(3).getId()).size());
+        assertEquals(0, loanRepository.findByBookIdAndReturnDateIsNull(books.get(4).getId()).size());
+    }
+
+    @Test
+    void duplicateIsbnIsLentOnce() {
+        Book book = seedBooks("dup", 1).get(0);
+        Member member = TestData.savedMember(memberRepository, "dup-member", "MEMBER");
+
+        List<BatchBorrowResult> results = borrowAs(member, List.of(book.getIsbn(), book.getIsbn()));
+
+        assertEquals(List.of(
+                new BatchBorrowResult(book.getIsbn(), true, null),
+                new BatchBorrowResult(book.getIsbn(), false, "Duplicate ISBN")), results);
+        assertEquals(1, loanRepository.findByBookIdAndReturnDateIsNull(book.getId()).size());
+        assertEquals(1, loanService.getEligibility(member).getActiveLoans());
+    }
+
+    private List<BatchBorrowResult> borrowAs(Member member, List<String> isbns) {
+        List<BatchBorrowResult> results = new ArrayList<>();
+        runAs(member, () -> results.addAll(loanService.borrowBooks(isbns)));
+        return results;
+    }
+
+    private List<Book> seedBooks(String prefix, int count) {
+        List<Book> books = new ArrayList<>();
+        for (int n = 0; n < count; n++) {
+            books.add(bookRepository.save(TestData.book(String.format("978-batch-%s-%03d", prefix, n), "Batch Title " + n, "Batch Author")));
+        }
+        return books;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.lms.service;
+
+import com.example.lms.TestData;
+import com.example.lms.dto.BookSearchPage;
+import com.example.lms.entity.Book;
+import com.example.lms.repository.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex(mock(BookRepository.class));
+        for (long id = 1; id <= 3; id++) {
+            Book book = TestData.book("978-search-" + id, "Distributed Systems " + id, "Author " + id);
+            book.setId(id);
+            index.put(book);
+        }
+    }
+
+    @Test
+    void pagesThroughHits() {
+        BookSearchPage first = index.search("distributed", false, 0, 2);
+        BookSearchPage second = index.search("distributed", false, 1, 2);
+
+        assertEquals(3, first.getTotal());
+        assertEquals(2, first.getHits().size());
+        assertEquals(1, second.getHits().size());
+    }
+
+    @Test
+    void pageBeyondIntRangeIsEmptyNotAnError() {
+        BookSearchPage page = index.search("distributed", false, Integer.MAX_VALUE, 100);
+
+        assertTrue(page.getHits().isEmpty());
+        assertEquals(3, page.getTotal());
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.lms.service;
+
+import com.example.lms.TestData;
+import com.example.lms.entity.Book;
+import com.example.lms.entity.Member;
+import com.example.lms.repository.ArchivedLoanRepository;
+import com.example.lms.repository.BookRepository;
+import com.example.lms.repository.LoanRepository;
+import com.example.lms.repository.MemberRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.lms.TestData.runAs;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Borrow races against a real database, with two LoanService instances that each keep their own on-loan index,
+ * the way two application instances would. Checks that the database, not the process-local index, decides
+ * whether a book can be lent.
+ */
+@SpringBootTest
+@ActiveProfiles("it")
+class ConcurrentBorrowDatabaseTest {
+
+    private static final int HOT_BOOKS = 4;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = 160;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MemberService memberService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private LoanMetrics loanMetrics;
+
+    @Autowired
+    private ArchivedLoanRepository archivedLoanRepository;
+
+    @Autowired
+    private VersionStamps versionStamps;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    void staleIndexOnAnotherInstanceDoesNotLendTwice() {
+        LoanService otherInstance = newInstance();
+        List<Book> books = seedBooks("stale", 1);
+        List<Member> members = seedMembers("stale", 2);
+        String isbn = books.get(0).getIsbn();
+
+        runAs(members.get(0), () -> loanService.borrowBook(isbn));
+        // The other instance's index never heard of that loan
+        RuntimeException rejected = assertThrows(RuntimeException.class,
+                () -> runAs(members.get(1), () -> otherInstance.borrowBook(isbn)));
+
+        assertEquals("Book not available", rejected.getMessage());
+        assertEquals(1, loanRepository.findByBookIdAndReturnDateIsNull(books.get(0).getId()).size());
+    }
+
+    @Test
+    void concurrentBorrowsAcrossInstancesNeverDoubleLend() throws Exception {
+        List<LoanService> instances = List.of(loanService, newInstance());
+        List<Book> books = seedBooks("race", HOT_BOOKS);
+        List<Member> members = seedMembers("race", ATTEMPTS);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < ATTEMPTS; i++) {
+            LoanService instance = instances.get(i % instances.size());
+            Member member = members.get(i);
+            String isbn = books.get(i % HOT_BOOKS).getIsbn();
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    runAs(member, () -> instance.borrowBook(isbn));
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if (!"Book not available".equals(e.getMessage())) {
+                        unexpected.add(e);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertTrue(unexpected.isEmpty(), () -> "unexpected borrow failures: " + unexpected);
+        assertEquals(HOT_BOOKS, succeeded.get());
+        for (Book book : books) {
+            assertEquals(1, loanRepository.findByBookIdAndReturnDateIsNull(book.getId()).size(),
+                    "open loans of " + book.getIsbn());
+        }
+    }
+
+    @Test
+    void concurrentBorrowsOfDifferentBooksKeepTheLoanCap() throws Exception {
+        List<LoanService> instances = List.of(loanService, newInstance());
+        List<Book> books = seedBooks("cap", THREADS);
+        Member member = seedMembers("cap", 1).get(0);
+
+        AtomicInteger succeeded = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            LoanService instance = instances.get(i % instances.size());
+            String isbn = books.get(i).getIsbn();
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    runAs(member, () -> instance.borrowBook(isbn));
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if (!"Borrow limit reached".equals(e.getMessage())) {
+                        unexpected.add(e);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+
+        assertTrue(unexpected.isEmpty(), () -> "unexpected borrow failures: " + unexpected);
+        assertEquals(MemberEligibility.MAX_ACTIVE_LOANS, succeeded.get());
+        assertEquals(MemberEligibility.MAX_ACTIVE_LOANS,
+                loanService.getEligibility(member).getActiveLoans());
+    }
+
+    // A second application instance sharing the database but not the on-loan index
+    private LoanService newInstance() {
+        OnLoanIndex index = new OnLoanIndex(loanRepository);
+        index.rebuild();
+        return new LoanService(loanRepository, bookRepository, memberService, index, transactionManager,
+                entityManager, loanMetrics, archivedLoanRepository, versionStamps, eventPublisher);
+    }
+
+    private List<Book> seedBooks(String prefix, int count) {
+        List<Book> books = new ArrayList<>();
+        for (int n = 0; n < count; n++) {
+            books.add(bookRepository.save(TestData.book(String.format("978-%s-%03d", prefix, n), "Race Title " + n, "Race Author")));
+        }
+        return books;
+    }
+
+    private List<Member> seedMembers(String prefix, int count) {
+        List<Member> members = new ArrayList<>();
+        for (int n = 0; n < count; n++) {
+            members.add(TestData.member(prefix + "-member-" + n, "MEMBER"));
+        }
+        return memberRepository.saveAll(members);
+    }
+}
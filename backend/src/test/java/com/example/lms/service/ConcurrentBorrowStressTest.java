@@ -0,0 +1,158 @@
+package com.example.lms.service;
+
+import com.example.lms.TestData;
+import com.example.lms.entity.Book;
+import com.example.lms.entity.Loan;
+import com.example.lms.entity.Member;
+import com.example.lms.repository.ArchivedLoanRepository;
+import com.example.lms.repository.BookRepository;
+import com.example.lms.repository.LoanRepository;
+import com.example.lms.repository.MemberLoanSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fires thousands of concurrent borrows at a handful of hot ISBNs and checks that every copy is lent exactly once.
+ * Runs on mocks, so it exercises the on-loan index reservation only; the database guard is covered by
+ * ConcurrentBorrowDatabaseTest.
+ */
+class ConcurrentBorrowStressTest {
+
+    private static final int HOT_BOOKS = 8;
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS = 5000;
+
+    @Test
+    void concurrentBorrowsNeverDoubleLend() throws Exception {
+        LoanRepository loanRepository = mock(LoanRepository.class);
+        BookRepository bookRepository = mock(BookRepository.class);
+        MemberService memberService = mock(MemberService.class);
+
+        Map<Long, AtomicInteger> loansPerBook = new ConcurrentHashMap<>();
+        when(loanRepository.findActiveBookIds()).thenReturn(List.of());
+        when(loanRepository.summarizeOpenLoans(any(), any())).thenReturn(mock(MemberLoanSummary.class));
+        when(loanRepository.save(any(Loan.class))).thenAnswer(invocation -> {
+            Loan loan = invocation.getArgument(0);
+            Thread.sleep(1); // widen the race window like a real insert would
+            loansPerBook.computeIfAbsent(loan.getBook().getId(), id -> new AtomicInteger()).incrementAndGet();
+            return loan;
+        });
+        when(bookRepository.findByIsbnForLoan(anyString())).thenAnswer(invocation -> {
+            String isbn = invocation.getArgument(0);
+            Book book = new Book();
+            book.setId(Long.parseLong(isbn.substring(4)));
+            book.setIsbn(isbn);
+            return Optional.of(book);
+        });
+        AtomicLong memberIds = new AtomicLong();
+        when(memberService.getCurrentMember()).thenAnswer(invocation -> {
+            long id = memberIds.incrementAndGet();
+            Member member = TestData.member("stress-member-" + id, "MEMBER");
+            member.setId(id);
+            return member;
+        });
+
+        EntityManager entityManager = mock(EntityManager.class);
+        // The member row lock taken before the eligibility check
+        when(entityManager.find(eq(Member.class), any(), any(LockModeType.class))).thenAnswer(invocation -> {
+            Member member = TestData.member("stress-member-" + invocation.getArgument(1), "MEMBER");
+            member.setId(invocation.getArgument(1));
+            return member;
+        });
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OnLoanIndex onLoanIndex = new OnLoanIndex(loanRepository);
+        onLoanIndex.rebuild();
+        LoanService loanService = new LoanService(loanRepository, bookRepository, memberService, onLoanIndex,
+                new NoOpTransactionManager(), entityManager, new LoanMetrics(meterRegistry),
+                mock(ArchivedLoanRepository.class), new VersionStamps(), event -> { });
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>(); // asserting on pool threads would be swallowed
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        for (int i = 0; i < ATTEMPTS; i++) {
+            String isbn = "isbn" + (1 + i % HOT_BOOKS);
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    loanService.borrowBook(isbn);
+                    succeeded.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if ("Book not available".equals(e.getMessage())) {
+                        rejected.incrementAndGet();
+                    } else {
+                        unexpected.add(e);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        long startedAt = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+        System.out.printf("%d borrow attempts on %d hot books in %.3f s (%.0f borrows/s), %d lent, %d rejected%n",
+                ATTEMPTS, HOT_BOOKS, seconds, ATTEMPTS / seconds, succeeded.get(), rejected.get());
+        assertTrue(unexpected.isEmpty(), () -> "unexpected borrow failures: " + unexpected);
+        assertEquals(HOT_BOOKS, succeeded.get());
+        assertEquals(ATTEMPTS - HOT_BOOKS, rejected.get());
+        loansPerBook.forEach((bookId, count) -> assertEquals(1, count.get(), "double lend of book " + bookId));
+        assertEquals(HOT_BOOKS, onLoanIndex.snapshot().size());
+        assertEquals(HOT_BOOKS, meterRegistry.get("lms.loans.borrowed").counter().count());
+        assertEquals(ATTEMPTS - HOT_BOOKS, meterRegistry.get("lms.loans.rejected")
+                .tag("reason", "book_not_available").counter().count());
+    }
+
+    /**
+     * Runs TransactionTemplate callbacks with synchronization active but without a database.
+     */
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
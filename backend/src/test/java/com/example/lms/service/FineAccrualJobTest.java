@@ -0,0 +1,147 @@
+package com.example.lms.service;
+
+import com.example.lms.TestData;
+import com.example.lms.entity.BatchCheckpoint;
+import com.example.lms.entity.Book;
+import com.example.lms.entity.FineLedgerEntry;
+import com.example.lms.entity.Loan;
+import com.example.lms.entity.Member;
+import com.example.lms.repository.BatchCheckpointRepository;
+import com.example.lms.repository.BookRepository;
+import com.example.lms.repository.FineLedgerRepository;
+import com.example.lms.repository.LoanFineAccrualRepository;
+import com.example.lms.repository.LoanFineRow;
+import com.example.lms.repository.LoanRepository;
+import com.example.lms.repository.MemberFineBalanceRepository;
+import com.example.lms.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The fine accrual job against a real database: a run that fails part way resumes from its checkpoint, and
+ * running it again the same day adds nothing to the ledger.
+ */
+@SpringBootTest
+@ActiveProfiles("it")
+class FineAccrualJobTest {
+
+    @Autowired
+    private FineAccrualJob fineAccrualJob;
+
+    @Autowired
+    private FineLedgerService fineLedgerService;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private BatchCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private LoanFineAccrualRepository accrualRepository;
+
+    @Autowired
+    private FineLedgerRepository ledgerRepository;
+
+    @Autowired
+    private MemberFineBalanceRepository balanceRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void failedRunResumesAfterTheLastCommittedChunk() {
+        Member member = TestData.savedMember(memberRepository, "fine-resume-member", "MEMBER");
+        // Due an hour before any other test's overdue loans, so they make up the first chunks
+        for (int n = 0; n < 5; n++) {
+            overdueLoan(member, "978-fine-resume-" + n, 60 + n);
+        }
+        // Chunks of two; the second chunk writes its ledger entries and then fails, so it rolls back
+        FineLedgerService failingLedger = new FineLedgerService(accrualRepository, ledgerRepository, balanceRepository) {
+            private int chunks;
+
+            @Override
+            public void accrue(List<LoanFineRow> loans, Date asOf) {
+                super.accrue(loans, asOf);
+                if (++chunks == 2) {
+                    throw new RuntimeException("Simulated crash");
+                }
+            }
+        };
+        FineAccrualJob failingJob = new FineAccrualJob(loanRepository, checkpointRepository, failingLedger,
+                transactionManager, 2);
+
+        assertThrows(RuntimeException.class, failingJob::run);
+        BatchCheckpoint interrupted = checkpointRepository.findById(FineAccrualJob.ACCRUAL).orElseThrow();
+        assertFalse(interrupted.isCompleted());
+        assertEquals(2, ledger(member).size());
+
+        assertTrue(fineAccrualJob.run());
+
+        BatchCheckpoint resumed = checkpointRepository.findById(FineAccrualJob.ACCRUAL).orElseThrow();
+        assertTrue(resumed.isCompleted());
+        assertEquals(interrupted.getRunStartedAt(), resumed.getRunStartedAt());
+        assertOneAccrualPerLoan(member, 5);
+    }
+
+    @Test
+    void secondRunOnTheSameDayChargesNothing() {
+        Member member = TestData.savedMember(memberRepository, "fine-twice-member", "MEMBER");
+        overdueLoan(member, "978-fine-twice-0", 0);
+
+        assertTrue(fineAccrualJob.run());
+        assertTrue(fineAccrualJob.run());
+
+        assertOneAccrualPerLoan(member, 1);
+    }
+
+    // Each loan is ten days overdue, so 5.0 is charged once per loan and the balance is the sum
+    private void assertOneAccrualPerLoan(Member member, int loans) {
+        List<FineLedgerEntry> entries = ledger(member);
+        assertEquals(loans, entries.size(), () -> "ledger: " + entries);
+        assertEquals(loans, entries.stream().map(FineLedgerEntry::getLoanId).collect(Collectors.toSet()).size());
+        entries.forEach(entry -> {
+            assertEquals(FineLedgerEntry.ACCRUAL, entry.getType());
+            assertEquals(5.0, entry.getAmount());
+        });
+        assertEquals(5.0 * loans, fineLedgerService.getSummary(member.getId()).getBalance());
+    }
+
+    private List<FineLedgerEntry> ledger(Member member) {
+        return ledgerRepository.findByMemberIdOrderByIdDesc(member.getId(), PageRequest.of(0, 50));
+    }
+
+    // Due ten days and an hour ago, staggered by a minute so the loans fall in a fixed keyset order
+    private Loan overdueLoan(Member member, String isbn, int offsetMinutes) {
+        Book book = bookRepository.save(TestData.book(isbn, "Fine " + isbn, "Fine Author"));
+        long now = System.currentTimeMillis();
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setMember(member);
+        loan.setLoanDate(new Date(now - TimeUnit.DAYS.toMillis(24)));
+        loan.setDueDate(new Date(now - TimeUnit.DAYS.toMillis(10) - TimeUnit.HOURS.toMillis(1)
+                - TimeUnit.MINUTES.toMillis(offsetMinutes)));
+        loan.setExtensions(0);
+        return loanRepository.save(loan);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.lms.service;
+
+import com.example.lms.TestData;
+import com.example.lms.entity.ArchivedLoan;
+import com.example.lms.entity.Book;
+import com.example.lms.entity.Loan;
+import com.example.lms.entity.Member;
+import com.example.lms.repository.ArchivedLoanRepository;
+import com.example.lms.repository.BookRepository;
+import com.example.lms.repository.LoanRepository;
+import com.example.lms.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LoanArchiver against a real database: old returned loans are moved to loan_archive unchanged, while open loans
+ * and loans returned within the retention window stay in loan.
+ */
+@SpringBootTest
+@ActiveProfiles("it")
+class LoanArchiverTest {
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private ArchivedLoanRepository archivedLoanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private VersionStamps versionStamps;
+
+    @Test
+    void movesOnlyReturnedLoansOlderThanTheRetentionWindow() {
+        Member member = TestData.savedMember(memberRepository, "archiver-member", "MEMBER");
+        Loan oldest = loan(member, "978-archiver-0", 400, 300, 2.5, 1);
+        Loan old = loan(member, "978-archiver-1", 300, 200, 0, 0);
+        Loan recent = loan(member, "978-archiver-2", 40, 10, 1.0, 2);
+        Loan openSinceLongAgo = loan(member, "978-archiver-3", 400, null, 0, 2);
+        // Re-read so the expected values carry the database's date precision
+        List<Loan> archivable = loanRepository.findAllById(List.of(oldest.getId(), old.getId()));
+        // One loan per chunk, so the run also has to loop until a short chunk
+        LoanArchiver archiver = new LoanArchiver(loanRepository, transactionManager, Duration.ofDays(180), 1,
+                versionStamps);
+
+        assertEquals(2, archiver.archive());
+
+        for (Loan loan : archivable) {
+            assertFalse(loanRepository.existsById(loan.getId()));
+            ArchivedLoan archived = archivedLoanRepository.findById(loan.getId()).orElseThrow();
+            assertEquals(loan.getBook().getId(), archived.getBook().getId());
+            assertEquals(member.getId(), archived.getMember().getId());
+            assertEquals(loan.getLoanDate().getTime(), archived.getLoanDate().getTime());
+            assertEquals(loan.getDueDate().getTime(), archived.getDueDate().getTime());
+            assertEquals(loan.getReturnDate().getTime(), archived.getReturnDate().getTime());
+            assertEquals(loan.getFine(), archived.getFine());
+            assertEquals(loan.getExtensions(), archived.getExtensions());
+            assertNotNull(archived.getArchivedAt());
+        }
+        for (Loan kept : List.of(recent, openSinceLongAgo)) {
+            assertTrue(loanRepository.existsById(kept.getId()));
+            assertFalse(archivedLoanRepository.existsById(kept.getId()));
+        }
+        assertEquals(0, archiver.archive());
+    }
+
+    // Borrowed the given number of days ago and returned returnedDaysAgo days ago, or still open if that is null.
+    // Open loans are due in the future so the fine accrual tests sharing this database do not pick them up.
+    private Loan loan(Member member, String isbn, int borrowedDaysAgo, Integer returnedDaysAgo, double fine,
+                      int extensions) {
+        Book book = bookRepository.save(TestData.book(isbn, "Archive " + isbn, "Archive Author"));
+        long now = System.currentTimeMillis();
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setMember(member);
+        loan.setLoanDate(new Date(now - TimeUnit.DAYS.toMillis(borrowedDaysAgo)));
+        if (returnedDaysAgo == null) {
+            loan.setDueDate(new Date(now + TimeUnit.DAYS.toMillis(7)));
+        } else {
+            loan.setDueDate(new Date(now - TimeUnit.DAYS.toMillis(borrowedDaysAgo - 14)));
+            loan.setReturnDate(new Date(now - TimeUnit.DAYS.toMillis(returnedDaysAgo)));
+        }
+        loan.setFine(fine);
+        loan.setExtensions(extensions);
+        return loanRepository.save(loan);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.lms.service;
+
+import com.example.lms.TestData;
+import com.example.lms.entity.Member;
+import com.example.lms.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class MemberSearchIndexTest {
+
+    private MemberSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MemberSearchIndex(mock(MemberRepository.class));
+        // Out of ID order on purpose: results must still come back ascending
+        put(5, "zoe");
+        put(2, "zack");
+        put(9, "amos");
+        put(7, "ozzie");
+    }
+
+    @Test
+    void shortQueryScansInIdOrderWithOffsetAndLimit() {
+        assertEquals(List.of(2L, 5L, 7L), index.search("z", 0, 10));
+        assertEquals(List.of(5L), index.search("z", 1, 1));
+    }
+
+    @Test
+    void shortQueryFollowsUpdatesAndRemovals() {
+        index.remove(5);
+        put(2, "adam");
+        put(3, "liz");
+
+        assertEquals(List.of(3L, 7L), index.search("z", 0, 10));
+    }
+
+    @Test
+    void trigramQueryMatchesSubstrings() {
+        assertEquals(List.of(7L), index.search("ozz", 0, 10));
+    }
+
+    private void put(long id, String username) {
+        Member member = TestData.member(username, "MEMBER");
+        member.setId(id);
+        index.put(member);
+    }
+}
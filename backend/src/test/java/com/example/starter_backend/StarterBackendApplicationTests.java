@@ -1,11 +1,12 @@
 package com.example.starter_backend;
 
+import com.example.lms.StarterBackendApplication;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
-@SpringBootTest
-@ActiveProfiles("test")
+@SpringBootTest(classes = StarterBackendApplication.class)
+@ActiveProfiles("it")
 class StarterBackendApplicationTests {
 
     @Test
@@ -0,0 +1,71 @@
+import axios from 'axios';
+import { jwtDecode } from 'jwt-decode';
+
+const AUTH_URL = 'http://localhost:8080/api/auth/';
+const REFRESH_URL = `${AUTH_URL}refresh`;
+const EXPIRY_MARGIN_MS = 30000; // Refresh a little early so a request never leaves with a token about to expire
+
+// One refresh at a time: the refresh token rotates, so a second concurrent refresh would look like reuse
+let pendingRefresh = null;
+
+const refreshTokens = () => {
+  if (!pendingRefresh) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    pendingRefresh = (refreshToken
+      ? axios.post(REFRESH_URL, { refreshToken })
+      : Promise.reject(new Error('No refresh token')))
+      .then((response) => {
+        localStorage.setItem('token', response.data.token);
+        localStorage.setItem('refreshToken', response.data.refreshToken);
+        return response.data.token;
+      })
+      .catch((err) => {
+        localStorage.removeItem('token');
+        localStorage.removeItem('refreshToken');
+        window.location.assign('/login');
+        throw err;
+      })
+      .finally(() => {
+        pendingRefresh = null;
+      });
+  }
+  return pendingRefresh;
+};
+
+const isExpiring = (token) => {
+  try {
+    return jwtDecode(token).exp * 1000 - EXPIRY_MARGIN_MS < Date.now();
+  } catch {
+    return true;
+  }
+};
+
+// Login, register and refresh carry their own credentials
+const isAuthCall = (config) => config.url?.startsWith(AUTH_URL);
+
+axios.interceptors.request.use(async (config) => {
+  if (isAuthCall(config)) {
+    return config;
+  }
+  let token = localStorage.getItem('token');
+  if (token && isExpiring(token)) {
+    token = await refreshTokens();
+  }
+  if (token) {
+    config.headers.Authorization = `Bearer ${token}`;
+  }
+  return config;
+});
+
+// Covers tokens that expired in flight or were rejected by the server; each request is retried once
+axios.interceptors.response.use(undefined, async (error) => {
+  const config = error.config;
+  if (error.response?.status !== 401 || !config || isAuthCall(config) || config.retried
+      || !localStorage.getItem('refreshToken')) {
+    throw error;
+  }
+  config.retried = true;
+  const token = await refreshTokens();
+  config.headers.Authorization = `Bearer ${token}`;
+  return axios(config);
+});
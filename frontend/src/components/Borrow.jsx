@@ -5,18 +5,45 @@ const Borrow = () => {
   const [books, setBooks] = useState([]);
   const [isbn, setIsbn] = useState('');
   const [error, setError] = useState('');
+  const [returnedCount, setReturnedCount] = useState(0); // books returned since the list was loaded
+  const [nextCursor, setNextCursor] = useState(null); // null once the last page is loaded
+
+  const fetchAvailableBooks = async () => {
+    try {
+      const response = await axios.get('http://localhost:8080/api/books/available');
+      setBooks(response.data.books);
+      setNextCursor(response.data.nextCursor);
+      setReturnedCount(0);
+    } catch (err) {
+      console.error('Available books load error:', err); // Verbose console logging
+      setError(err.response?.data?.message || err.message || 'Failed to load books');
+    }
+  };
+
+  const loadMoreBooks = async () => {
+    try {
+      const response = await axios.get('http://localhost:8080/api/books/available', { params: { after: nextCursor } });
+      setBooks(previous => [...previous, ...response.data.books]);
+      setNextCursor(response.data.nextCursor);
+    } catch (err) {
+      console.error('Available books load error:', err); // Verbose console logging
+      setError(err.response?.data?.message || err.message || 'Failed to load books');
+    }
+  };
 
   useEffect(() => {
-    const fetchAvailableBooks = async () => {
-      try {
-        const response = await axios.get('http://localhost:8080/api/books/available');
-        setBooks(response.data);
-      } catch (err) {
-        console.error('Available books load error:', err); // Verbose console logging
-        setError(err.response?.data?.message || err.message || 'Failed to load books');
-      }
-    };
     fetchAvailableBooks();
+    // Live availability instead of reloading: borrowed books drop out, returns are offered as a refresh
+    const stream = new EventSource('http://localhost:8080/api/books/availability/stream');
+    stream.addEventListener('availability', (event) => {
+      const { bookId, available } = JSON.parse(event.data);
+      if (available) {
+        setReturnedCount(count => count + 1);
+      } else {
+        setBooks(previous => previous.filter(book => book.id !== bookId));
+      }
+    });
+    return () => stream.close();
   }, []);
 
   const handleBorrow = async (e) => {
@@ -26,8 +53,7 @@ const Borrow = () => {
       alert('Book borrowed');
       setIsbn('');
       // Refresh available books
-      const response = await axios.get('http://localhost:8080/api/books/available');
-      setBooks(response.data);
+      fetchAvailableBooks();
     } catch (err) {
       console.error('Borrow error:', err); // Verbose console logging
       setError(err.response?.data?.message || err.message || 'Borrow failed');
@@ -43,11 +69,17 @@ const Borrow = () => {
         <button type="submit" style={{ display: 'block' }}>Borrow</button>
       </form>
       <h3>Available Books</h3>
+      {returnedCount > 0 && (
+        <button onClick={fetchAvailableBooks} style={{ marginBottom: '10px' }}>
+          {returnedCount} book(s) returned - refresh list
+        </button>
+      )}
       <ul>
         {books.map(book => (
           <li key={book.id}>{book.title} by {book.author} (ISBN: {book.isbn})</li>
         ))}
       </ul>
+      {nextCursor && <button onClick={loadMoreBooks}>Load more</button>}
     </div>
   );
 };
@@ -4,6 +4,9 @@ import axios from 'axios';
 const Loans = () => {
   const [loans, setLoans] = useState([]);
   const [error, setError] = useState('');
+  const [history, setHistory] = useState([]); // archived loans, loaded on demand
+  const [historyCursor, setHistoryCursor] = useState(null);
+  const [historyDone, setHistoryDone] = useState(false);
 
   useEffect(() => {
     const fetchLoans = async () => {
@@ -44,6 +47,20 @@ const Loans = () => {
     }
   };
 
+  const loadHistory = async () => {
+    try {
+      const response = await axios.get('http://localhost:8080/api/loans/my/history', {
+        params: { before: historyCursor || undefined, limit: 20 },
+      });
+      setHistory(previous => [...previous, ...response.data.loans]);
+      setHistoryCursor(response.data.nextCursor);
+      setHistoryDone(!response.data.nextCursor);
+    } catch (err) {
+      console.error('History load error:', err); // Verbose console logging
+      setError(err.response?.data?.message || err.message || 'Failed to load loan history');
+    }
+  };
+
   return (
     <div style={{ padding: '20px' }}>
       <h2>My Loans</h2>
@@ -60,9 +77,9 @@ const Loans = () => {
           </tr>
         </thead>
         <tbody>
-          {loans.map(loan => (
+          {[...loans, ...history].map(loan => (
             <tr key={loan.id}>
-              <td style={{ border: '1px solid black', padding: '8px' }}>{loan.book.title}</td>
+              <td style={{ border: '1px solid black', padding: '8px' }}>{loan.title}</td>
               <td style={{ border: '1px solid black', padding: '8px' }}>{new Date(loan.loanDate).toLocaleDateString()}</td>
               <td style={{ border: '1px solid black', padding: '8px' }}>{new Date(loan.dueDate).toLocaleDateString()}</td>
               <td style={{ border: '1px solid black', padding: '8px' }}>{loan.returnDate ? new Date(loan.returnDate).toLocaleDateString() : 'Not Returned'}</td>
@@ -79,6 +96,11 @@ const Loans = () => {
           ))}
         </tbody>
       </table>
+      {!historyDone && (
+        <button onClick={loadHistory} style={{ marginTop: '10px' }}>
+          {history.length === 0 ? 'Show older loans' : 'Load more'}
+        </button>
+      )}
     </div>
   );
 };
@@ -14,6 +14,7 @@ const Login = () => {
     try {
       const response = await axios.post('http://localhost:8080/api/auth/login', { username, password });
       localStorage.setItem('token', response.data.token);
+      localStorage.setItem('refreshToken', response.data.refreshToken);
       const decoded = jwtDecode(response.data.token);
       if (decoded.role === 'ADMIN') {
         navigate('/admin-dashboard');
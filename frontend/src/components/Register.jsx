@@ -16,6 +16,7 @@ const Register = () => {
     try {
       const response = await axios.post('http://localhost:8080/api/auth/register', { name, username, email, password });
       localStorage.setItem('token', response.data.token);
+      localStorage.setItem('refreshToken', response.data.refreshToken);
       const decoded = jwtDecode(response.data.token);
       if (decoded.role === 'ADMIN') {
         navigate('/admin-dashboard');
@@ -1,6 +1,7 @@
 import React from 'react';
 import ReactDOM from 'react-dom/client';
 import App from './App.jsx';
+import './auth.js'; // Attaches the access token to API calls and refreshes it when it expires
 
 ReactDOM.createRoot(document.getElementById('root')).render(
   <React.StrictMode>